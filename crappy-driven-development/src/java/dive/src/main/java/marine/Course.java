@@ -0,0 +1,88 @@
+package marine;
+
+/**
+ * Bounded history of the instructions followed by a {@link Submarine}.
+ * <p>
+ * Every {@code checkpointInterval} instructions the position is stored in a ring of {@code checkpoints} slots, and the
+ * instructions themselves are kept in a ring covering the same window as compact (direction, amount) pairs.
+ * Asking for an older position replays at most {@code checkpointInterval - 1} instructions from the nearest checkpoint.
+ */
+class Course {
+    private static final byte FORWARD = 0;
+    private static final byte DOWN = 1;
+    private static final byte UP = 2;
+
+    private final int checkpointInterval;
+    private final int[] checkpointHorizontals;
+    private final int[] checkpointDepths;
+    private final byte[] directions;
+    private final int[] amounts;
+    private long instructionCount;
+
+    Course(Position start, int checkpointInterval, int checkpoints) {
+        if (checkpointInterval < 1 || checkpoints < 1) {
+            throw new IllegalArgumentException("Checkpoint interval and number of checkpoints must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointHorizontals = new int[checkpoints];
+        this.checkpointDepths = new int[checkpoints];
+        this.directions = new byte[Math.multiplyExact(checkpointInterval, checkpoints)];
+        this.amounts = new int[directions.length];
+        checkpoint(0, start);
+    }
+
+    long getInstructionCount() {
+        return instructionCount;
+    }
+
+    void record(Instruction instruction, Position reached) {
+        var slot = (int) (instructionCount % directions.length);
+        directions[slot] = directionOf(instruction);
+        amounts[slot] = instruction.getX();
+        instructionCount++;
+
+        if (instructionCount % checkpointInterval == 0) {
+            checkpoint(instructionCount / checkpointInterval, reached);
+        }
+    }
+
+    Position positionAt(long instruction) {
+        if (instruction < oldestRetainedInstruction() || instruction > instructionCount) {
+            throw new IllegalArgumentException("Position after instruction " + instruction
+                    + " is not retained, available range is [" + oldestRetainedInstruction() + ", " + instructionCount + "]");
+        }
+        var checkpoint = instruction / checkpointInterval;
+        var slot = (int) (checkpoint % checkpointHorizontals.length);
+        var horizontal = checkpointHorizontals[slot];
+        var depth = checkpointDepths[slot];
+
+        for (var i = checkpoint * checkpointInterval; i < instruction; i++) {
+            var replayed = (int) (i % directions.length);
+            switch (directions[replayed]) {
+                case DOWN -> depth += amounts[replayed];
+                case UP -> depth -= amounts[replayed];
+                default -> horizontal += amounts[replayed];
+            }
+        }
+        return new Position(horizontal, depth);
+    }
+
+    long oldestRetainedInstruction() {
+        var latestCheckpoint = instructionCount / checkpointInterval;
+        return Math.max(0, latestCheckpoint - checkpointHorizontals.length + 1) * checkpointInterval;
+    }
+
+    private void checkpoint(long checkpoint, Position position) {
+        var slot = (int) (checkpoint % checkpointHorizontals.length);
+        checkpointHorizontals[slot] = position.getHorizontal();
+        checkpointDepths[slot] = position.getDepth();
+    }
+
+    private static byte directionOf(Instruction instruction) {
+        return switch (instruction.getText()) {
+            case "down" -> DOWN;
+            case "up" -> UP;
+            default -> FORWARD;
+        };
+    }
+}
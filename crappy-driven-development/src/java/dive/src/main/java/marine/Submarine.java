@@ -1,26 +1,53 @@
 package marine;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.List;
 
 @Getter
 public class Submarine {
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 256;
+    private static final int DEFAULT_CHECKPOINTS = 64;
+
     private Position position;
+    @Getter(AccessLevel.NONE)
+    private final Course course;
 
     public Submarine(int horizontal, int depth) {
+        this(horizontal, depth, DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_CHECKPOINTS);
+    }
+
+    public Submarine(int horizontal, int depth, int checkpointInterval, int checkpoints) {
         this.position = new Position(horizontal, depth);
+        this.course = new Course(position, checkpointInterval, checkpoints);
     }
 
+    /**
+     * Follows a batch of instructions, can be called as many times as the feed delivers new batches.
+     */
     public void move(List<Instruction> instructions) {
         instructions.forEach(this::move);
     }
 
+    public long getInstructionCount() {
+        return course.getInstructionCount();
+    }
+
+    /**
+     * Position reached after the first {@code instruction} instructions, replayed from the nearest checkpoint.
+     * Only the last {@code checkpointInterval * checkpoints} instructions or so are retained.
+     */
+    public Position positionAt(long instruction) {
+        return course.positionAt(instruction);
+    }
+
     private void move(Instruction instruction) {
         position = switch (instruction.getText()) {
             case "down" -> position.withDepth(position.getDepth() + instruction.getX());
             case "up" -> position.withDepth(position.getDepth() - instruction.getX());
             default -> position.withHorizontal(position.getHorizontal() + instruction.getX());
         };
+        course.record(instruction, position);
     }
 }
\ No newline at end of file
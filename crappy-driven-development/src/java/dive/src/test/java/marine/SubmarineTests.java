@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 // Advent of code instructions available here : https://adventofcode.com/2021/day/2
 class SubmarineTests {
@@ -20,6 +21,38 @@ class SubmarineTests {
         assertThat(calculateResult(submarine)).isEqualTo(1690020);
     }
 
+    @Test
+    void should_keep_track_of_its_course_when_instructions_arrive_in_batches() {
+        var instructions = loadInstructions();
+        var submarine = new Submarine(0, 0, 10, 4);
+
+        for (var start = 0; start < instructions.size(); start += 100) {
+            submarine.move(instructions.subList(start, Math.min(start + 100, instructions.size())));
+        }
+
+        assertThat(submarine.getInstructionCount()).isEqualTo(instructions.size());
+        assertThat(calculateResult(submarine)).isEqualTo(1690020);
+        for (var instruction = 970; instruction <= instructions.size(); instruction++) {
+            var replayed = new Submarine(0, 0);
+            replayed.move(instructions.subList(0, instruction));
+
+            assertThat(submarine.positionAt(instruction))
+                    .usingRecursiveComparison()
+                    .isEqualTo(replayed.getPosition());
+        }
+    }
+
+    @Test
+    void should_not_know_positions_older_than_its_checkpoints() {
+        var submarine = new Submarine(0, 0, 10, 4);
+        submarine.move(loadInstructions());
+
+        assertThatThrownBy(() -> submarine.positionAt(969))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> submarine.positionAt(1001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private int calculateResult(Submarine submarine) {
         return submarine.getPosition().getDepth() * submarine.getPosition().getHorizontal();
     }
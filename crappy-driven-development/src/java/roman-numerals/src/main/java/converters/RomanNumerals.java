@@ -1,34 +1,258 @@
 package converters;
 
-import java.util.TreeMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 
 public class RomanNumerals {
     private RomanNumerals() {
     }
 
-    private static final TreeMap<Integer, String> treemap = new TreeMap<>();
+    public static final int MAX_CLASSIC_NUMBER = 3999;
+
+    private static final String[] HUNDREDS = {"", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM"};
+    private static final String[] TENS = {"", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC"};
+    private static final String[] UNITS = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX"};
+    private static final int[] DIGIT_LENGTHS = {0, 1, 2, 3, 2, 1, 2, 3, 4, 2};
+    private static final int MAX_CLASSIC_LENGTH = 15;
+    private static final int[] SYMBOL_VALUES = new int[128];
 
     static {
-        treemap.put(1000, "M");
-        treemap.put(900, "CM");
-        treemap.put(500, "D");
-        treemap.put(400, "CD");
-        treemap.put(100, "C");
-        treemap.put(90, "XC");
-        treemap.put(50, "L");
-        treemap.put(40, "XL");
-        treemap.put(10, "X");
-        treemap.put(9, "IX");
-        treemap.put(5, "V");
-        treemap.put(4, "IV");
-        treemap.put(1, "I");
+        SYMBOL_VALUES['I'] = 1;
+        SYMBOL_VALUES['V'] = 5;
+        SYMBOL_VALUES['X'] = 10;
+        SYMBOL_VALUES['L'] = 50;
+        SYMBOL_VALUES['C'] = 100;
+        SYMBOL_VALUES['D'] = 500;
+        SYMBOL_VALUES['M'] = 1000;
     }
 
     public static String convertToRoman(int number) {
-        int l = treemap.floorKey(number);
-        if (number == l) {
-            return treemap.get(number);
+        var chars = new char[romanLength(number)];
+        writeRoman(number, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Serves 1..{@value #MAX_CLASSIC_NUMBER} from an array built on first use, bigger numbers are converted on each
+     * call.
+     */
+    public static String convertToRomanCached(int number) {
+        return isClassic(number)
+                ? Cache.NUMERALS[number]
+                : convertToRoman(number);
+    }
+
+    /**
+     * Reads a canonical numeral of 1..{@value #MAX_CLASSIC_NUMBER}, anything else ("IIII", "VX", "MMMM", "x"...) returns 0.
+     * Symbols are summed in one right to left pass, the canonical form is then checked against the cache.
+     */
+    public static int parseRoman(CharSequence numeral) {
+        var length = numeral.length();
+        if (length == 0 || length > MAX_CLASSIC_LENGTH) {
+            return 0;
+        }
+        var total = 0;
+        var previous = 0;
+        for (var i = length - 1; i >= 0; i--) {
+            var value = symbolValue(numeral.charAt(i));
+            if (value == 0) {
+                return 0;
+            }
+            total += value < previous ? -value : value;
+            previous = value;
+        }
+        return isClassic(total) && Cache.NUMERALS[total].contentEquals(numeral) ? total : 0;
+    }
+
+    /**
+     * Same as {@link #parseRoman(CharSequence)} on ASCII bytes, no String is created.
+     */
+    public static int parseRoman(byte[] numeral, int offset, int length) {
+        if (length == 0 || length > MAX_CLASSIC_LENGTH) {
+            return 0;
         }
-        return treemap.get(l) + convertToRoman(number - l);
+        var total = 0;
+        var previous = 0;
+        for (var i = offset + length - 1; i >= offset; i--) {
+            var value = symbolValue((char) (numeral[i] & 0xFF));
+            if (value == 0) {
+                return 0;
+            }
+            total += value < previous ? -value : value;
+            previous = value;
+        }
+        return isClassic(total) && matches(Cache.NUMERALS[total], numeral, offset, length) ? total : 0;
+    }
+
+    public static int convertFromRoman(CharSequence numeral) {
+        var number = parseRoman(numeral);
+        if (number == 0) {
+            throw new IllegalArgumentException(numeral + " is not a roman numeral");
+        }
+        return number;
+    }
+
+    /**
+     * Appends the numeral to a caller-owned builder, nothing else is allocated.
+     */
+    public static StringBuilder appendRoman(int number, StringBuilder to) {
+        checkRepresentable(number);
+        for (var thousands = number / 1000; thousands > 0; thousands--) {
+            to.append('M');
+        }
+        return to.append(HUNDREDS[number / 100 % 10])
+                .append(TENS[number / 10 % 10])
+                .append(UNITS[number % 10]);
+    }
+
+    /**
+     * Writes the numeral into {@code to} starting at {@code offset} and returns the number of chars written,
+     * {@link #romanLength(int)} tells how much room is needed.
+     */
+    public static int writeRoman(int number, char[] to, int offset) {
+        checkRepresentable(number);
+        var position = offset;
+        for (var thousands = number / 1000; thousands > 0; thousands--) {
+            to[position++] = 'M';
+        }
+        position = write(HUNDREDS[number / 100 % 10], to, position);
+        position = write(TENS[number / 10 % 10], to, position);
+        position = write(UNITS[number % 10], to, position);
+        return position - offset;
+    }
+
+    /**
+     * Appends every numeral followed by the separator except the last one, classic numbers come from the cache
+     * so converting a whole array only grows {@code to}.
+     */
+    public static StringBuilder appendAllRoman(int[] numbers, CharSequence separator, StringBuilder to) {
+        try {
+            return appendAll(numbers, separator, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException("A StringBuilder does not fail", e);
+        }
+    }
+
+    public static <A extends Appendable> A appendAllRoman(int[] numbers, CharSequence separator, A to) throws IOException {
+        return appendAll(numbers, separator, to);
+    }
+
+    /**
+     * ASCII variant of {@link #appendAllRoman(int[], CharSequence, StringBuilder)}, fails with a
+     * {@link java.nio.BufferOverflowException} when {@code to} has not enough room left.
+     */
+    public static ByteBuffer putAllRoman(int[] numbers, byte separator, ByteBuffer to) {
+        try {
+            appendAll(numbers, String.valueOf((char) separator), new AsciiBuffer(to));
+            return to;
+        } catch (IOException e) {
+            throw new UncheckedIOException("A ByteBuffer does not fail", e);
+        }
+    }
+
+    public static int romanLength(int number) {
+        checkRepresentable(number);
+        return number / 1000
+                + DIGIT_LENGTHS[number / 100 % 10]
+                + DIGIT_LENGTHS[number / 10 % 10]
+                + DIGIT_LENGTHS[number % 10];
+    }
+
+    static String[] buildCache() {
+        var numerals = new String[MAX_CLASSIC_NUMBER + 1];
+        var chars = new char[MAX_CLASSIC_LENGTH];
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            numerals[number] = new String(chars, 0, writeRoman(number, chars, 0));
+        }
+        return numerals;
+    }
+
+    private static int symbolValue(char symbol) {
+        return symbol < SYMBOL_VALUES.length ? SYMBOL_VALUES[symbol] : 0;
+    }
+
+    private static <A extends Appendable> A appendAll(int[] numbers, CharSequence separator, A to) throws IOException {
+        for (var i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                to.append(separator);
+            }
+            appendNumeral(numbers[i], to);
+        }
+        return to;
+    }
+
+    // The extra Ms of the numbers above 3999, then their classic part from the cache
+    private static void appendNumeral(int number, Appendable to) throws IOException {
+        checkRepresentable(number);
+        for (var thousands = number / 1000; thousands > MAX_CLASSIC_NUMBER / 1000; thousands--) {
+            to.append('M');
+        }
+        to.append(Cache.NUMERALS[classicPart(number)]);
+    }
+
+    // Numbers above 3999 are the classic numeral of their last 3999 prefixed by extra Ms
+    private static int classicPart(int number) {
+        return number > MAX_CLASSIC_NUMBER
+                ? number - (number / 1000 - MAX_CLASSIC_NUMBER / 1000) * 1000
+                : number;
+    }
+
+    private static boolean isClassic(int number) {
+        return number > 0 && number <= MAX_CLASSIC_NUMBER;
+    }
+
+    private static boolean matches(String numeral, byte[] bytes, int offset, int length) {
+        if (numeral.length() != length) {
+            return false;
+        }
+        for (var i = 0; i < length; i++) {
+            if (numeral.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int write(String digit, char[] to, int position) {
+        digit.getChars(0, digit.length(), to, position);
+        return position + digit.length();
+    }
+
+    private static void checkRepresentable(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException(number + " has no roman representation");
+        }
+    }
+
+    private static final class AsciiBuffer implements Appendable {
+        private final ByteBuffer buffer;
+
+        private AsciiBuffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public Appendable append(CharSequence chars) {
+            return append(chars, 0, chars.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence chars, int start, int end) {
+            for (var i = start; i < end; i++) {
+                buffer.put((byte) chars.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            buffer.put((byte) c);
+            return this;
+        }
+    }
+
+    private static final class Cache {
+        private static final String[] NUMERALS = buildCache();
     }
-}
\ No newline at end of file
+}
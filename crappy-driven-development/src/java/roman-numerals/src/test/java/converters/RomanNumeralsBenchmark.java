@@ -0,0 +1,166 @@
+package converters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Run it from the IDE, the gc profiler reports the allocation rate of each implementation (gc.alloc.rate.norm)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RomanNumeralsBenchmark {
+    private static final int MAX_CLASSIC_NUMBER = RomanNumerals.MAX_CLASSIC_NUMBER;
+
+    private final StringBuilder builder = new StringBuilder(16);
+    private final char[] chars = new char[16];
+    private final StringBuilder report = new StringBuilder();
+    private int[] numbers;
+    private String[] numerals;
+    private byte[][] asciiNumerals;
+
+    @Setup
+    public void prepareNumerals() {
+        numbers = new int[MAX_CLASSIC_NUMBER];
+        numerals = new String[MAX_CLASSIC_NUMBER];
+        asciiNumerals = new byte[MAX_CLASSIC_NUMBER][];
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            numbers[number - 1] = number;
+            numerals[number - 1] = RomanNumerals.convertToRoman(number);
+            asciiNumerals[number - 1] = numerals[number - 1].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Benchmark
+    public void treeMapRecursion(Blackhole blackhole) {
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            blackhole.consume(TreeMapRomanNumerals.convertToRoman(number));
+        }
+    }
+
+    @Benchmark
+    public void convertToRoman(Blackhole blackhole) {
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            blackhole.consume(RomanNumerals.convertToRoman(number));
+        }
+    }
+
+    @Benchmark
+    public void appendRomanToReusedBuilder(Blackhole blackhole) {
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            builder.setLength(0);
+            blackhole.consume(RomanNumerals.appendRoman(number, builder).length());
+        }
+    }
+
+    @Benchmark
+    public void writeRomanToReusedChars(Blackhole blackhole) {
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            blackhole.consume(RomanNumerals.writeRoman(number, chars, 0));
+        }
+        blackhole.consume(chars);
+    }
+
+    // Reads each cached numeral, consuming the bare references lets the JIT skip most of the loads
+    @Benchmark
+    public int convertToRomanCached() {
+        var characters = 0;
+        for (var number = 1; number <= MAX_CLASSIC_NUMBER; number++) {
+            characters += RomanNumerals.convertToRomanCached(number).charAt(0);
+        }
+        return characters;
+    }
+
+    @Benchmark
+    public int appendEachConvertedRoman() {
+        report.setLength(0);
+        for (var number : numbers) {
+            report.append(RomanNumerals.convertToRoman(number)).append(", ");
+        }
+        return report.length();
+    }
+
+    @Benchmark
+    public int appendAllRomanToReusedBuilder() {
+        report.setLength(0);
+        return RomanNumerals.appendAllRoman(numbers, ", ", report).length();
+    }
+
+    @Benchmark
+    public void parseRoman(Blackhole blackhole) {
+        for (var numeral : numerals) {
+            blackhole.consume(RomanNumerals.parseRoman(numeral));
+        }
+    }
+
+    @Benchmark
+    public void parseRomanFromBytes(Blackhole blackhole) {
+        for (var numeral : asciiNumerals) {
+            blackhole.consume(RomanNumerals.parseRoman(numeral, 0, numeral.length));
+        }
+    }
+
+    // Startup cost of the cache, its gc.alloc.rate.norm is the memory it retains
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 20)
+    public String[] buildCache() {
+        return RomanNumerals.buildCache();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RomanNumeralsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+    // The previous implementation, kept as the baseline
+    private static final class TreeMapRomanNumerals {
+        private static final TreeMap<Integer, String> treemap = new TreeMap<>();
+
+        static {
+            treemap.put(1000, "M");
+            treemap.put(900, "CM");
+            treemap.put(500, "D");
+            treemap.put(400, "CD");
+            treemap.put(100, "C");
+            treemap.put(90, "XC");
+            treemap.put(50, "L");
+            treemap.put(40, "XL");
+            treemap.put(10, "X");
+            treemap.put(9, "IX");
+            treemap.put(5, "V");
+            treemap.put(4, "IV");
+            treemap.put(1, "I");
+        }
+
+        static String convertToRoman(int number) {
+            int l = treemap.floorKey(number);
+            if (number == l) {
+                return treemap.get(number);
+            }
+            return treemap.get(l) + convertToRoman(number - l);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package converters;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Random;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class RomanNumeralsTests {
     private static Stream<Arguments> intsToConvert() {
@@ -20,7 +30,9 @@ class RomanNumeralsTests {
                 Arguments.of(42, "XLII"),
                 Arguments.of(58, "LVIII"),
                 Arguments.of(101, "CI"),
-                Arguments.of(2022, "MMXXII")
+                Arguments.of(2022, "MMXXII"),
+                Arguments.of(3888, "MMMDCCCLXXXVIII"),
+                Arguments.of(4000, "MMMM")
         );
     }
 
@@ -30,4 +42,84 @@ class RomanNumeralsTests {
         assertThat(RomanNumerals.convertToRoman(number))
                 .isEqualTo(expected);
     }
+
+    @ParameterizedTest
+    @MethodSource("intsToConvert")
+    void append_and_write_int_should_produce_the_same_roman_representation(int number, String expected) {
+        var chars = new char[RomanNumerals.romanLength(number) + 1];
+
+        assertThat(RomanNumerals.appendRoman(number, new StringBuilder("#")))
+                .hasToString("#" + expected);
+        assertThat(new String(chars, 1, RomanNumerals.writeRoman(number, chars, 1)))
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void convert_int_without_roman_representation_should_fail(int number) {
+        assertThatThrownBy(() -> RomanNumerals.convertToRoman(number))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cached_conversion_should_match_conversion() {
+        for (var number = 1; number <= RomanNumerals.MAX_CLASSIC_NUMBER + 1; number++) {
+            assertThat(RomanNumerals.convertToRomanCached(number))
+                    .isEqualTo(RomanNumerals.convertToRoman(number));
+        }
+    }
+
+    @Test
+    void parse_roman_should_round_trip_every_classic_number() {
+        for (var number = 1; number <= RomanNumerals.MAX_CLASSIC_NUMBER; number++) {
+            var numeral = RomanNumerals.convertToRoman(number);
+
+            assertThat(RomanNumerals.parseRoman(numeral)).isEqualTo(number);
+            assertThat(RomanNumerals.parseRoman(numeral.getBytes(US_ASCII), 0, numeral.length())).isEqualTo(number);
+        }
+    }
+
+    @Test
+    void parse_roman_should_only_accept_canonical_numerals() {
+        var random = new Random(42);
+        var symbols = "IVXLCDM";
+
+        for (var i = 0; i < 100_000; i++) {
+            var numeral = new StringBuilder();
+            for (var length = 1 + random.nextInt(8); length > 0; length--) {
+                numeral.append(symbols.charAt(random.nextInt(symbols.length())));
+            }
+            var number = RomanNumerals.parseRoman(numeral);
+
+            if (number != 0) {
+                assertThat(RomanNumerals.convertToRoman(number)).isEqualTo(numeral.toString());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "IIII", "VX", "IC", "XM", "MMMM", "iv", "X I", "MMMDCCCLXXXVIIII", "Ⅻ"})
+    void parse_roman_should_reject_malformed_numerals(String numeral) {
+        var bytes = numeral.getBytes(UTF_8);
+
+        assertThat(RomanNumerals.parseRoman(numeral)).isZero();
+        assertThat(RomanNumerals.parseRoman(bytes, 0, bytes.length)).isZero();
+        assertThatThrownBy(() -> RomanNumerals.convertFromRoman(numeral))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void append_all_should_separate_the_roman_representations() throws IOException {
+        var numbers = new int[]{1, 42, 3888, 4000, 12345};
+        var expected = "I, XLII, MMMDCCCLXXXVIII, MMMM, MMMMMMMMMMMMCCCXLV";
+
+        assertThat(RomanNumerals.appendAllRoman(numbers, ", ", new StringBuilder()))
+                .hasToString(expected);
+        assertThat(RomanNumerals.appendAllRoman(numbers, ", ", new StringWriter()))
+                .hasToString(expected);
+        assertThat(RomanNumerals.putAllRoman(numbers, (byte) ';', ByteBuffer.allocate(64)).flip())
+                .isEqualTo(ByteBuffer.wrap(expected.replace(", ", ";").getBytes(US_ASCII)));
+        assertThat(RomanNumerals.appendAllRoman(new int[0], ", ", new StringBuilder()))
+                .isEmpty();
+    }
 }
\ No newline at end of file
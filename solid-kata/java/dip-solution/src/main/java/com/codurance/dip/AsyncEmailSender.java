@@ -0,0 +1,130 @@
+package com.codurance.dip;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Queues emails for a pool of workers delivering them in batches through an {@link EmailTransport}.
+ * <p>
+ * The queue is bounded: when the transport slows down and the queue is full, {@link #send(Email)} blocks until a
+ * worker takes some emails, so the greeter never runs ahead of the transport by more than the queue capacity.
+ * A batch failing with an exception is counted, its exception kept as the {@link #lastFailure()}, and the workers go
+ * on with the next ones. Errors such as an {@link OutOfMemoryError} are not caught, they end the worker hitting them.
+ * Closing waits for the emails being queued, an email accepted by {@link #send(Email)} is always delivered or counted
+ * as failed unless a worker died.
+ */
+public class AsyncEmailSender extends EmailSender implements Closeable {
+    private static final long POLL_TIMEOUT_MILLIS = 50;
+
+    private final BlockingQueue<Email> queue;
+    private final EmailTransport transport;
+    private final int batchSize;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicReference<Exception> lastFailure = new AtomicReference<>();
+    private final ReadWriteLock intake = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    public AsyncEmailSender(EmailTransport transport, int queueCapacity, int batchSize, int workers) {
+        if (queueCapacity < 1 || batchSize < 1 || workers < 1) {
+            throw new IllegalArgumentException("Queue capacity, batch size and workers must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.transport = transport;
+        this.batchSize = batchSize;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::deliverUntilClosed, "email-sender-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            this.workers.add(worker);
+        }
+    }
+
+    @Override
+    public void send(Email email) {
+        intake.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Sender is closed");
+            }
+            queue.put(email);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an email to " + email.getTo(), e);
+        } finally {
+            intake.readLock().unlock();
+        }
+    }
+
+    public long deliveredCount() {
+        return delivered.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Exception of the last batch that failed, {@code null} while none did.
+     */
+    public Exception lastFailure() {
+        return lastFailure.get();
+    }
+
+    /**
+     * Stops accepting emails and waits for the queued ones to be delivered.
+     */
+    @Override
+    public void close() {
+        intake.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            intake.writeLock().unlock();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliverUntilClosed() {
+        List<Email> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Email first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(List<Email> batch) {
+        try {
+            transport.deliver(batch);
+            delivered.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            lastFailure.set(e);
+        }
+    }
+}
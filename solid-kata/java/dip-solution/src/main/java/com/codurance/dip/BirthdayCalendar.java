@@ -0,0 +1,49 @@
+package com.codurance.dip;
+
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.function.IntConsumer;
+
+/**
+ * Numbers the days of a leap year from 0 to 365 so birthdays can be bucketed by day.
+ * Employees born on February 29 are greeted on February 28 in non leap years.
+ */
+final class BirthdayCalendar {
+    static final int DAYS = 366;
+    static final MonthDay FEBRUARY_29 = MonthDay.of(Month.FEBRUARY, 29);
+    static final int LEAP_DAY = dayOf(FEBRUARY_29);
+    private static final MonthDay LAST_DAY_OF_FEBRUARY_IN_COMMON_YEARS = MonthDay.of(Month.FEBRUARY, 28);
+    private static final int FEBRUARY_28 = LEAP_DAY - 1;
+
+    private BirthdayCalendar() {
+    }
+
+    static int dayOf(MonthDay monthDay) {
+        return monthDay.atYear(2000).getDayOfYear() - 1;
+    }
+
+    static boolean greetsLeapDayBirthdaysOn(MonthDay monthDay, Year year) {
+        return !year.isLeap() && monthDay.equals(LAST_DAY_OF_FEBRUARY_IN_COMMON_YEARS);
+    }
+
+    /**
+     * Visits the days whose birthdays are greeted from {@code from} to {@code to} included, across the end of the
+     * year when {@code to} comes before {@code from}. In common years February 29 is visited with February 28 only.
+     */
+    static void forEachDayBetween(MonthDay from, MonthDay to, Year year, IntConsumer action) {
+        boolean commonYear = !year.isLeap();
+        int last = dayOf(to);
+        for (int day = dayOf(from); ; day = (day + 1) % DAYS) {
+            if (day != LEAP_DAY || !commonYear) {
+                action.accept(day);
+            }
+            if (day == FEBRUARY_28 && commonYear) {
+                action.accept(LEAP_DAY);
+            }
+            if (day == last) {
+                return;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -2,13 +2,28 @@ package com.codurance.dip;
 
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
 import java.time.MonthDay;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @AllArgsConstructor
 public class BirthdayGreeter {
     private final EmployeeRepository employeeRepository;
     private final Clock clock;
     private final EmailSender emailSender;
+    private final Function<Employee, Greeting> greetingOf;
+
+    public BirthdayGreeter(EmployeeRepository employeeRepository, Clock clock, EmailSender emailSender) {
+        this(employeeRepository, clock, emailSender, Greeting.ENGLISH);
+    }
+
+    public BirthdayGreeter(EmployeeRepository employeeRepository, Clock clock, EmailSender emailSender, Greeting greeting) {
+        this(employeeRepository, clock, emailSender, employee -> greeting);
+    }
 
     public void sendGreetings() {
         MonthDay today = clock.monthDay();
@@ -18,11 +33,75 @@ public class BirthdayGreeter {
                 .forEach(emailSender::send);
     }
 
+    /**
+     * Renders and sends the greetings of the day on the executor, at most {@code concurrency} at a time: the caller
+     * waits for a slot before submitting the next one, then for all of them to complete. A failing greeting is
+     * counted in the report and does not stop the others.
+     */
+    public GreetingRunReport sendGreetings(Executor executor, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        long start = System.nanoTime();
+        List<Employee> employees = employeeRepository.findEmployeesBornOn(clock.monthDay());
+        long[] latencyNanos = new long[employees.size()];
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore slots = new Semaphore(concurrency);
+        try {
+            for (int i = 0; i < latencyNanos.length; i++) {
+                int position = i;
+                slots.acquire();
+                executor.execute(() -> {
+                    long sendStart = System.nanoTime();
+                    try {
+                        emailSender.send(emailFor(employees.get(position)));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        latencyNanos[position] = System.nanoTime() - sendStart;
+                        slots.release();
+                    }
+                });
+            }
+            slots.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending greetings", e);
+        }
+        return GreetingRunReport.of(latencyNanos, failed.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Greets in one run the employees born on any day from {@code from} to {@code to} included, to catch up on the
+     * days the greeter did not run.
+     */
+    public void sendGreetings(MonthDay from, MonthDay to) {
+        employeeRepository.findEmployeesBornBetween(from, to)
+                .stream()
+                .map(this::emailFor)
+                .forEach(emailSender::send);
+    }
+
+    /**
+     * Generates the greetings of the day into the outbox, unless a previous run of the same day already did, then
+     * delivers the ones not sent yet. An outbox sealed for another day first delivers what that run left behind.
+     */
+    public void sendGreetings(EmailOutbox outbox) throws IOException {
+        MonthDay today = clock.monthDay();
+        if (!today.equals(outbox.sealedDay())) {
+            if (outbox.isSealed()) {
+                outbox.deliverPending(emailSender);
+            }
+            outbox.clear();
+            for (Employee employee : employeeRepository.findEmployeesBornOn(today)) {
+                outbox.append(emailFor(employee));
+            }
+            outbox.seal(today);
+        }
+        outbox.deliverPending(emailSender);
+    }
+
     private Email emailFor(Employee employee) {
-        return Email.builder()
-                .to(employee.getEmail())
-                .subject("Happy birthday!")
-                .message(String.format("Happy birthday, dear %s!", employee.getFirstName()))
-                .build();
+        return greetingOf.apply(employee).emailFor(employee);
     }
 }
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.codurance.dip;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.MonthDay;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Emails of one greeting run, stored in a directory before they are delivered so that a run interrupted by a crash
+ * resumes where it stopped instead of greeting everyone again or nobody.
+ * <p>
+ * Emails are appended to a log of checksummed records, forced to the disk once every {@code groupCommitSize} emails
+ * and when the outbox is {@link #seal(MonthDay) sealed} with the day of the run, which marks the end of their
+ * generation. An outbox that is not sealed when opened holds the emails of an interrupted generation, it is
+ * {@link #clear() cleared} and filled again.
+ * <p>
+ * The day the outbox is sealed for and the offset of the next email to deliver are kept in a small memory-mapped
+ * checkpoint. The offset is updated after each email: it survives a crash of the process, so only the email being
+ * sent at that time can be sent twice. The checkpoint is forced to the disk when the outbox is sealed or cleared and
+ * once every {@code groupCommitSize} delivered emails, a power loss can resend at most that many.
+ */
+public class EmailOutbox implements Closeable {
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 256;
+    private static final int HEADER_SIZE = 8;
+    private static final int CHECKPOINT_SIZE = 20;
+    private static final int NEXT_OFFSET = 0;
+    private static final int DELIVERED_COUNT = 8;
+    private static final int SEALED_DAY = 16;
+    private static final int NOT_SEALED = 0;
+    private static final int NULL_FIELD = -1;
+
+    private final FileChannel log;
+    private final FileChannel checkpointFile;
+    private final MappedByteBuffer checkpoint;
+    private final int groupCommitSize;
+    private final CRC32C checksum = new CRC32C();
+    private long end;
+    private int uncommitted;
+
+    public EmailOutbox(Path directory) throws IOException {
+        this(directory, DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    public EmailOutbox(Path directory, int groupCommitSize) throws IOException {
+        if (groupCommitSize < 1) {
+            throw new IllegalArgumentException("Group commit size must be positive");
+        }
+        Files.createDirectories(directory);
+        this.groupCommitSize = groupCommitSize;
+        this.log = FileChannel.open(directory.resolve("emails.log"), CREATE, READ, WRITE);
+        this.checkpointFile = FileChannel.open(directory.resolve("delivered.checkpoint"), CREATE, READ, WRITE);
+        this.checkpoint = checkpointFile.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+        this.end = recover();
+    }
+
+    public boolean isSealed() {
+        return checkpoint.getInt(SEALED_DAY) != NOT_SEALED;
+    }
+
+    /**
+     * Day of the run the outbox was sealed for, {@code null} while it is not sealed.
+     */
+    public MonthDay sealedDay() {
+        int sealedDay = checkpoint.getInt(SEALED_DAY);
+        return sealedDay == NOT_SEALED ? null : MonthDay.of(sealedDay / 100, sealedDay % 100);
+    }
+
+    public boolean hasPending() {
+        return checkpoint.getLong(NEXT_OFFSET) < end;
+    }
+
+    public long deliveredCount() {
+        return checkpoint.getLong(DELIVERED_COUNT);
+    }
+
+    public void append(Email email) throws IOException {
+        if (isSealed()) {
+            throw new IllegalStateException("Cannot append to a sealed outbox");
+        }
+        byte[] payload = encode(email);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt(checksumOf(payload))
+                .put(payload)
+                .flip();
+        while (record.hasRemaining()) {
+            end += log.write(record, end);
+        }
+        if (++uncommitted >= groupCommitSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Ends the generation of the emails of the run of {@code day}: they are forced to the disk before the seal, and
+     * the outbox accepts no more of them.
+     */
+    public void seal(MonthDay day) throws IOException {
+        if (isSealed()) {
+            throw new IllegalStateException("Outbox is already sealed for " + sealedDay());
+        }
+        commit();
+        checkpoint.putInt(SEALED_DAY, day.getMonthValue() * 100 + day.getDayOfMonth());
+        checkpoint.force();
+    }
+
+    /**
+     * Drops the emails and the delivery checkpoint, to generate the emails of another run or of an interrupted one.
+     */
+    public void clear() throws IOException {
+        checkpoint.putLong(NEXT_OFFSET, 0).putLong(DELIVERED_COUNT, 0).putInt(SEALED_DAY, NOT_SEALED);
+        checkpoint.force();
+        log.truncate(0);
+        log.force(true);
+        end = 0;
+        uncommitted = 0;
+    }
+
+    /**
+     * Sends the emails not delivered yet, in the order they were appended, and returns how many were sent. When the
+     * sender fails, the email is kept and the next call starts with it.
+     */
+    public int deliverPending(EmailSender sender) throws IOException {
+        if (!isSealed()) {
+            throw new IllegalStateException("Emails can only be delivered once the outbox is sealed");
+        }
+        int delivered = 0;
+        try {
+            for (long offset = checkpoint.getLong(NEXT_OFFSET); offset < end; ) {
+                ByteBuffer payload = payloadAt(offset);
+                if (payload == null) {
+                    throw new IOException("Corrupted email at offset " + offset);
+                }
+                sender.send(decode(payload));
+                offset += HEADER_SIZE + payload.capacity();
+                checkpoint.putLong(NEXT_OFFSET, offset).putLong(DELIVERED_COUNT, deliveredCount() + 1);
+                if (++delivered % groupCommitSize == 0) {
+                    checkpoint.force();
+                }
+            }
+        } finally {
+            checkpoint.force();
+        }
+        return delivered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        checkpoint.force();
+        log.close();
+        checkpointFile.close();
+    }
+
+    private void commit() throws IOException {
+        if (uncommitted > 0) {
+            log.force(false);
+            uncommitted = 0;
+        }
+    }
+
+    // Drops the records following the first torn or corrupted one
+    private long recover() throws IOException {
+        long offset = 0;
+        for (ByteBuffer payload = payloadAt(offset); payload != null; payload = payloadAt(offset)) {
+            offset += HEADER_SIZE + payload.capacity();
+        }
+        log.truncate(offset);
+        return offset;
+    }
+
+    // null when the record at offset is torn or does not match its checksum
+    private ByteBuffer payloadAt(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (read(header, offset) < HEADER_SIZE) {
+            return null;
+        }
+        int length = header.getInt(0);
+        if (length < 0 || offset + HEADER_SIZE + length > log.size()) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        read(payload, offset + HEADER_SIZE);
+        return checksumOf(payload.array()) == header.getInt(4) ? payload.flip() : null;
+    }
+
+    private int read(ByteBuffer buffer, long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = log.read(buffer, position + buffer.position());
+        }
+        return buffer.position();
+    }
+
+    private int checksumOf(byte[] bytes) {
+        checksum.reset();
+        checksum.update(bytes);
+        return (int) checksum.getValue();
+    }
+
+    private static byte[] encode(Email email) {
+        byte[] to = bytesOf(email.getTo());
+        byte[] subject = bytesOf(email.getSubject());
+        byte[] message = bytesOf(email.getMessage());
+        ByteBuffer payload = ByteBuffer.allocate(3 * Integer.BYTES + lengthOf(to) + lengthOf(subject) + lengthOf(message));
+        put(to, payload);
+        put(subject, payload);
+        put(message, payload);
+        return payload.array();
+    }
+
+    private static Email decode(ByteBuffer payload) {
+        return Email.builder()
+                .to(get(payload))
+                .subject(get(payload))
+                .message(get(payload))
+                .build();
+    }
+
+    private static byte[] bytesOf(String field) {
+        return field == null ? null : field.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int lengthOf(byte[] field) {
+        return field == null ? 0 : field.length;
+    }
+
+    private static void put(byte[] field, ByteBuffer payload) {
+        if (field == null) {
+            payload.putInt(NULL_FIELD);
+        } else {
+            payload.putInt(field.length).put(field);
+        }
+    }
+
+    private static String get(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length == NULL_FIELD) {
+            return null;
+        }
+        String field = new String(payload.array(), payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return field;
+    }
+}
@@ -0,0 +1,14 @@
+package com.codurance.dip;
+
+import java.util.List;
+
+/**
+ * Delivers emails in batches, possibly from several threads at once.
+ */
+public interface EmailTransport {
+    /**
+     * The list is only valid during the call: the caller reuses it for the next batch, a transport keeping the
+     * emails for later copies them.
+     */
+    void deliver(List<Email> emails);
+}
@@ -1,8 +1,47 @@
 package com.codurance.dip;
 
+import java.time.LocalDate;
 import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+
+import static com.codurance.dip.BirthdayCalendar.FEBRUARY_29;
+import static com.codurance.dip.BirthdayCalendar.greetsLeapDayBirthdaysOn;
 
 public interface EmployeeRepository {
     List<Employee> findEmployeesBornOn(MonthDay monthDay);
+
+    /**
+     * Employees to greet on {@code day}, employees born on February 29 being greeted on February 28 when the year of
+     * {@code day}, rather than the current one, is a common year.
+     */
+    default List<Employee> findEmployeesToGreetOn(LocalDate day) {
+        MonthDay monthDay = MonthDay.from(day);
+        Set<Employee> employees = new LinkedHashSet<>(findEmployeesBornOn(monthDay));
+        if (greetsLeapDayBirthdaysOn(monthDay, Year.from(day))) {
+            employees.addAll(findEmployeesBornOn(FEBRUARY_29));
+        } else if (!monthDay.equals(FEBRUARY_29)) {
+            employees.removeIf(employee -> MonthDay.from(employee.getDateOfBirth()).equals(FEBRUARY_29));
+        }
+        return new ArrayList<>(employees);
+    }
+
+    /**
+     * Employees to greet on any day from {@code from} to {@code to} included, across the end of the year when
+     * {@code to} comes before {@code from}. Each employee is listed once, in the order of the days.
+     */
+    default List<Employee> findEmployeesBornBetween(MonthDay from, MonthDay to) {
+        Set<Employee> employees = new LinkedHashSet<>();
+        MonthDay day = from;
+        while (true) {
+            employees.addAll(findEmployeesBornOn(day));
+            if (day.equals(to)) {
+                return new ArrayList<>(employees);
+            }
+            day = MonthDay.from(day.atYear(2000).plusDays(1));
+        }
+    }
 }
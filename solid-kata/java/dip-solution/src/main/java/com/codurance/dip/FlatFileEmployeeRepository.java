@@ -0,0 +1,170 @@
+package com.codurance.dip;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.codurance.dip.BirthdayCalendar.DAYS;
+import static com.codurance.dip.BirthdayCalendar.LEAP_DAY;
+import static com.codurance.dip.BirthdayCalendar.dayOf;
+import static com.codurance.dip.BirthdayCalendar.forEachDayBetween;
+import static com.codurance.dip.BirthdayCalendar.greetsLeapDayBirthdaysOn;
+
+/**
+ * Roster of {@code firstName,lastName,yyyy-MM-dd,email} lines, lines without these four fields (a header) are ignored.
+ * <p>
+ * The file is memory-mapped and scanned once to index the offset of each line by day of birth, two {@code int}
+ * per employee. Afterwards only the lines of the employees born on the requested day are read and turned into
+ * {@link Employee}s. The roster is limited to 2 GB.
+ */
+public class FlatFileEmployeeRepository implements EmployeeRepository {
+    private static final char SEPARATOR = ',';
+
+    private final MappedByteBuffer roster;
+    private final int[] firstLineOfDay = new int[DAYS + 1];
+    private final int[] lineOffsets;
+    private final Supplier<Year> currentYear;
+
+    public FlatFileEmployeeRepository(Path roster) throws IOException {
+        this(roster, Year::now);
+    }
+
+    public FlatFileEmployeeRepository(Path roster, Supplier<Year> currentYear) throws IOException {
+        try (FileChannel channel = FileChannel.open(roster)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(roster + " is larger than 2 GB");
+            }
+            this.roster = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        this.currentYear = currentYear;
+        this.lineOffsets = index();
+    }
+
+    @Override
+    public List<Employee> findEmployeesBornOn(MonthDay monthDay) {
+        return findEmployeesToGreetOn(monthDay, currentYear.get());
+    }
+
+    @Override
+    public List<Employee> findEmployeesToGreetOn(LocalDate day) {
+        return findEmployeesToGreetOn(MonthDay.from(day), Year.from(day));
+    }
+
+    private List<Employee> findEmployeesToGreetOn(MonthDay monthDay, Year year) {
+        List<Employee> employees = new ArrayList<>();
+        addEmployeesBornOn(dayOf(monthDay), employees);
+        if (greetsLeapDayBirthdaysOn(monthDay, year)) {
+            addEmployeesBornOn(LEAP_DAY, employees);
+        }
+        return employees;
+    }
+
+    @Override
+    public List<Employee> findEmployeesBornBetween(MonthDay from, MonthDay to) {
+        List<Employee> employees = new ArrayList<>();
+        forEachDayBetween(from, to, currentYear.get(), day -> addEmployeesBornOn(day, employees));
+        return employees;
+    }
+
+    private void addEmployeesBornOn(int day, List<Employee> employees) {
+        for (int line = firstLineOfDay[day]; line < firstLineOfDay[day + 1]; line++) {
+            employees.add(employeeAt(lineOffsets[line]));
+        }
+    }
+
+    // Counting sort of the line offsets by day of birth
+    private int[] index() {
+        int[] offsets = new int[1024];
+        int[] days = new int[1024];
+        int lines = 0;
+        for (int offset = 0; offset < roster.limit(); offset = endOfLine(offset) + 1) {
+            int day = dayOfBirthAt(offset);
+            if (day < 0) {
+                continue;
+            }
+            if (lines == offsets.length) {
+                offsets = Arrays.copyOf(offsets, lines * 2);
+                days = Arrays.copyOf(days, lines * 2);
+            }
+            offsets[lines] = offset;
+            days[lines] = day;
+            lines++;
+            firstLineOfDay[day + 1]++;
+        }
+        for (int day = 0; day < DAYS; day++) {
+            firstLineOfDay[day + 1] += firstLineOfDay[day];
+        }
+        int[] next = Arrays.copyOf(firstLineOfDay, DAYS);
+        int[] sorted = new int[lines];
+        for (int line = 0; line < lines; line++) {
+            sorted[next[days[line]]++] = offsets[line];
+        }
+        return sorted;
+    }
+
+    // -1 when the third field of the line is not a yyyy-MM-dd date followed by a fourth field
+    private int dayOfBirthAt(int offset) {
+        int date = offset;
+        for (int separators = 0; separators < 2; date++) {
+            if (date == roster.limit() || roster.get(date) == '\n') {
+                return -1;
+            }
+            if (roster.get(date) == SEPARATOR) {
+                separators++;
+            }
+        }
+        while (date < roster.limit() && roster.get(date) == ' ') {
+            date++;
+        }
+        if (date + 10 > roster.limit() || roster.get(date + 4) != '-' || roster.get(date + 7) != '-') {
+            return -1;
+        }
+        int century = twoDigitsAt(date);
+        int yearOfCentury = twoDigitsAt(date + 2);
+        int month = twoDigitsAt(date + 5);
+        int dayOfMonth = twoDigitsAt(date + 8);
+        if (century < 0 || yearOfCentury < 0 || month < 1 || month > 12 || dayOfMonth < 1
+                || dayOfMonth > Month.of(month).length(Year.isLeap(century * 100L + yearOfCentury))) {
+            return -1;
+        }
+        int end = date + 10;
+        while (end < roster.limit() && roster.get(end) == ' ') {
+            end++;
+        }
+        if (end == roster.limit() || roster.get(end) != SEPARATOR) {
+            return -1;
+        }
+        return dayOf(MonthDay.of(month, dayOfMonth));
+    }
+
+    private int twoDigitsAt(int offset) {
+        int tens = roster.get(offset) - '0';
+        int units = roster.get(offset + 1) - '0';
+        return tens < 0 || tens > 9 || units < 0 || units > 9 ? -1 : tens * 10 + units;
+    }
+
+    private int endOfLine(int offset) {
+        int end = offset;
+        while (end < roster.limit() && roster.get(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private Employee employeeAt(int offset) {
+        byte[] line = new byte[endOfLine(offset) - offset];
+        roster.get(offset, line);
+        String[] fields = new String(line, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 4);
+        return new Employee(fields[0].trim(), fields[1].trim(), LocalDate.parse(fields[2].trim()), fields[3].trim());
+    }
+}
@@ -0,0 +1,24 @@
+package com.codurance.dip;
+
+/**
+ * Subject and message templates of the birthday email.
+ */
+public final class Greeting {
+    public static final Greeting ENGLISH = of("Happy birthday!", "Happy birthday, dear {firstName}!");
+
+    private final GreetingTemplate subject;
+    private final GreetingTemplate message;
+
+    private Greeting(GreetingTemplate subject, GreetingTemplate message) {
+        this.subject = subject;
+        this.message = message;
+    }
+
+    public static Greeting of(String subject, String message) {
+        return new Greeting(GreetingTemplate.parse(subject), GreetingTemplate.parse(message));
+    }
+
+    public Email emailFor(Employee employee) {
+        return new Email(employee.getEmail(), subject.render(employee), message.render(employee));
+    }
+}
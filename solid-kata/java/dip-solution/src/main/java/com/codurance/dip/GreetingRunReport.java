@@ -0,0 +1,39 @@
+package com.codurance.dip;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Outcome of a greeting run: how many greetings were sent or failed, how long the run took and how long sending one
+ * greeting took at the median and the 99th percentile.
+ */
+@Value
+public class GreetingRunReport {
+    int sent;
+    int failed;
+    Duration elapsed;
+    Duration medianLatency;
+    Duration p99Latency;
+
+    static GreetingRunReport of(long[] latencyNanos, int failed, long elapsedNanos) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new GreetingRunReport(
+                sorted.length - failed,
+                failed,
+                Duration.ofNanos(elapsedNanos),
+                Duration.ofNanos(percentile(sorted, 0.50)),
+                Duration.ofNanos(percentile(sorted, 0.99)));
+    }
+
+    public double greetingsPerSecond() {
+        return elapsed.isZero() ? 0 : (sent + failed) * 1e9 / elapsed.toNanos();
+    }
+
+    // Nearest rank
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+}
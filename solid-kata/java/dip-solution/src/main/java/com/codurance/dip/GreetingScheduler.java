@@ -0,0 +1,89 @@
+package com.codurance.dip;
+
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Greets employees at the same local time wherever they live, instead of everyone at once at the time of the server.
+ * <p>
+ * The employees born on a day are looked up once, then partitioned by the offset of their time zone on that day at
+ * {@code greetingTime}. The timer only fires each partition at its instant, the greetings of the partition are sent
+ * on the workers, so a slow partition never delays the next ones. Any executor fits the workers, a thread per
+ * partition included. Partitions whose instant has already passed are greeted at once. A failing greeting is
+ * counted in the report of its partition and does not stop the others.
+ */
+@Builder
+public class GreetingScheduler {
+    @NonNull
+    private final EmployeeRepository employeeRepository;
+    @NonNull
+    private final Function<Employee, ZoneId> zoneOf;
+    @NonNull
+    private final EmailSender emailSender;
+    @NonNull
+    private final ScheduledExecutorService timer;
+    @NonNull
+    private final Executor workers;
+    @Builder.Default
+    private final Function<Employee, Greeting> greetingOf = employee -> Greeting.ENGLISH;
+    @Builder.Default
+    private final LocalTime greetingTime = LocalTime.of(9, 0);
+    @Builder.Default
+    private final java.time.Clock clock = java.time.Clock.systemUTC();
+
+    /**
+     * Schedules the greetings of the employees whose local date is {@code day}, returns the report of each partition
+     * in the order they are fired.
+     */
+    public Map<ZoneOffset, CompletableFuture<GreetingRunReport>> scheduleGreetingsOn(LocalDate day) {
+        Map<ZoneOffset, CompletableFuture<GreetingRunReport>> partitions = new TreeMap<>();
+        partitionByOffset(day).forEach((offset, employees) -> {
+            long delay = Duration.between(clock.instant(), day.atTime(greetingTime).toInstant(offset)).toMillis();
+            CompletableFuture<Void> fired = new CompletableFuture<>();
+            timer.schedule(() -> fired.complete(null), Math.max(0, delay), TimeUnit.MILLISECONDS);
+            partitions.put(offset, fired.thenApplyAsync(ignored -> greet(employees), workers));
+        });
+        return partitions;
+    }
+
+    private Map<ZoneOffset, List<Employee>> partitionByOffset(LocalDate day) {
+        Map<ZoneOffset, List<Employee>> partitions = new TreeMap<>();
+        for (Employee employee : employeeRepository.findEmployeesToGreetOn(day)) {
+            ZoneOffset offset = day.atTime(greetingTime).atZone(zoneOf.apply(employee)).getOffset();
+            partitions.computeIfAbsent(offset, o -> new ArrayList<>()).add(employee);
+        }
+        return partitions;
+    }
+
+    private GreetingRunReport greet(List<Employee> employees) {
+        long start = System.nanoTime();
+        long[] latencyNanos = new long[employees.size()];
+        int failed = 0;
+        for (int i = 0; i < latencyNanos.length; i++) {
+            Employee employee = employees.get(i);
+            long sendStart = System.nanoTime();
+            try {
+                emailSender.send(greetingOf.apply(employee).emailFor(employee));
+            } catch (RuntimeException e) {
+                failed++;
+            }
+            latencyNanos[i] = System.nanoTime() - sendStart;
+        }
+        return GreetingRunReport.of(latencyNanos, failed, System.nanoTime() - start);
+    }
+}
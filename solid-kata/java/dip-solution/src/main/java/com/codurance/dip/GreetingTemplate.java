@@ -0,0 +1,80 @@
+package com.codurance.dip;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Text with {@code {firstName}}, {@code {lastName}} and {@code {email}} placeholders, parsed once into the literal
+ * segments between placeholders so that rendering only appends strings.
+ */
+public final class GreetingTemplate {
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+    private final int literalsLength;
+
+    private GreetingTemplate(List<String> literals, List<Placeholder> placeholders) {
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new Placeholder[0]);
+        this.literalsLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static GreetingTemplate parse(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        for (int open = pattern.indexOf('{'); open >= 0; open = pattern.indexOf('{', literalStart)) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in " + pattern);
+            }
+            literals.add(pattern.substring(literalStart, open));
+            placeholders.add(Placeholder.named(pattern.substring(open + 1, close)));
+            literalStart = close + 1;
+        }
+        literals.add(pattern.substring(literalStart));
+        return new GreetingTemplate(literals, placeholders);
+    }
+
+    public String render(Employee employee) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+        return render(employee, new StringBuilder(literalsLength + 16 * placeholders.length)).toString();
+    }
+
+    public StringBuilder render(Employee employee, StringBuilder text) {
+        text.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            text.append(placeholders[i].valueOf(employee)).append(literals[i + 1]);
+        }
+        return text;
+    }
+
+    private enum Placeholder {
+        FIRST_NAME("firstName", Employee::getFirstName),
+        LAST_NAME("lastName", Employee::getLastName),
+        EMAIL("email", Employee::getEmail);
+
+        private final String name;
+        private final Function<Employee, String> value;
+
+        Placeholder(String name, Function<Employee, String> value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        private static Placeholder named(String name) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.name.equals(name)) {
+                    return placeholder;
+                }
+            }
+            throw new IllegalArgumentException("Unknown placeholder {" + name + "}");
+        }
+
+        private String valueOf(Employee employee) {
+            return value.apply(employee);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.codurance.dip;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Greetings by locale, falling back to the greeting of the language and then to the default one.
+ */
+public class Greetings {
+    private final Map<Locale, Greeting> greetings = new HashMap<>();
+    private final Greeting defaultGreeting;
+
+    public Greetings(Greeting defaultGreeting) {
+        this.defaultGreeting = defaultGreeting;
+    }
+
+    public Greetings register(Locale locale, Greeting greeting) {
+        greetings.put(locale, greeting);
+        return this;
+    }
+
+    public Greeting forLocale(Locale locale) {
+        Greeting greeting = greetings.get(locale);
+        if (greeting == null) {
+            greeting = greetings.getOrDefault(new Locale(locale.getLanguage()), defaultGreeting);
+        }
+        return greeting;
+    }
+
+    /**
+     * Greeting of each employee according to their locale, to greet everyone in their language.
+     */
+    public Function<Employee, Greeting> byLocale(Function<Employee, Locale> localeOf) {
+        return employee -> forLocale(localeOf.apply(employee));
+    }
+}
@@ -0,0 +1,74 @@
+package com.codurance.dip;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.codurance.dip.BirthdayCalendar.DAYS;
+import static com.codurance.dip.BirthdayCalendar.LEAP_DAY;
+import static com.codurance.dip.BirthdayCalendar.dayOf;
+import static com.codurance.dip.BirthdayCalendar.forEachDayBetween;
+import static com.codurance.dip.BirthdayCalendar.greetsLeapDayBirthdaysOn;
+
+/**
+ * Employees bucketed by day of birth, finding the ones to greet costs O(matches) instead of a scan of everyone.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private final List<List<Employee>> employeesByBirthday = new ArrayList<>(DAYS);
+    private final Supplier<Year> currentYear;
+
+    public InMemoryEmployeeRepository() {
+        this(Year::now);
+    }
+
+    public InMemoryEmployeeRepository(Supplier<Year> currentYear) {
+        this.currentYear = currentYear;
+        for (int day = 0; day < DAYS; day++) {
+            employeesByBirthday.add(new ArrayList<>());
+        }
+    }
+
+    public void add(Employee employee) {
+        bornOn(MonthDay.from(employee.getDateOfBirth())).add(employee);
+    }
+
+    public boolean remove(Employee employee) {
+        return bornOn(MonthDay.from(employee.getDateOfBirth())).remove(employee);
+    }
+
+    @Override
+    public List<Employee> findEmployeesBornOn(MonthDay monthDay) {
+        return findEmployeesToGreetOn(monthDay, currentYear.get());
+    }
+
+    @Override
+    public List<Employee> findEmployeesToGreetOn(LocalDate day) {
+        return findEmployeesToGreetOn(MonthDay.from(day), Year.from(day));
+    }
+
+    private List<Employee> findEmployeesToGreetOn(MonthDay monthDay, Year year) {
+        List<Employee> bornOn = bornOn(monthDay);
+        if (!greetsLeapDayBirthdaysOn(monthDay, year)) {
+            return new ArrayList<>(bornOn);
+        }
+        List<Employee> bornOnLeapDay = employeesByBirthday.get(LEAP_DAY);
+        List<Employee> employees = new ArrayList<>(bornOn.size() + bornOnLeapDay.size());
+        employees.addAll(bornOn);
+        employees.addAll(bornOnLeapDay);
+        return employees;
+    }
+
+    @Override
+    public List<Employee> findEmployeesBornBetween(MonthDay from, MonthDay to) {
+        List<Employee> employees = new ArrayList<>();
+        forEachDayBetween(from, to, currentYear.get(), day -> employees.addAll(employeesByBirthday.get(day)));
+        return employees;
+    }
+
+    private List<Employee> bornOn(MonthDay monthDay) {
+        return employeesByBirthday.get(dayOf(monthDay));
+    }
+}
@@ -0,0 +1,87 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncEmailSenderTest {
+    private static final List<Email> EMAILS = IntStream.range(0, 1_000)
+            .mapToObj(i -> Email.builder()
+                    .to("employee" + i + "@foobar.com")
+                    .subject("Happy birthday!")
+                    .message("Happy birthday, dear employee" + i + "!")
+                    .build())
+            .collect(Collectors.toList());
+
+    @Test
+    void deliver_every_email_in_batches_through_parallel_workers() {
+        FakeSmtpSink sink = new FakeSmtpSink(5);
+        long start = System.nanoTime();
+
+        try (AsyncEmailSender sender = new AsyncEmailSender(sink, 100, 20, 4)) {
+            EMAILS.forEach(sender::send);
+        }
+        double emailsPerSecond = EMAILS.size() * 1e9 / (System.nanoTime() - start);
+
+        assertThat(sink.received()).containsExactlyInAnyOrderElementsOf(EMAILS);
+        assertThat(sink.maxBatchSize()).isLessThanOrEqualTo(20).isGreaterThan(1);
+        assertThat(sink.maxConcurrentDeliveries()).isGreaterThan(1);
+        assertThat(emailsPerSecond).isGreaterThan(EMAILS.size() / 5.0);
+    }
+
+    @Test
+    void block_senders_while_the_transport_is_stalled_and_the_queue_full() throws Exception {
+        CountDownLatch transportReleased = new CountDownLatch(1);
+        FakeSmtpSink sink = new FakeSmtpSink(0);
+        AsyncEmailSender sender = new AsyncEmailSender(emails -> {
+            awaitQuietly(transportReleased);
+            sink.deliver(emails);
+        }, 2, 1, 1);
+
+        CompletableFuture<Void> sending = CompletableFuture.runAsync(() -> EMAILS.subList(0, 10).forEach(sender::send));
+
+        assertThat(sending).isNotDone();
+        Thread.sleep(100);
+        assertThat(sending).isNotDone();
+        transportReleased.countDown();
+        sending.get(5, TimeUnit.SECONDS);
+        sender.close();
+        assertThat(sender.deliveredCount()).isEqualTo(10);
+    }
+
+    @Test
+    void count_the_failing_batches_and_keep_delivering() {
+        FakeSmtpSink sink = new FakeSmtpSink(0);
+        IllegalStateException refused = new IllegalStateException("Mailbox unavailable");
+        AsyncEmailSender sender = new AsyncEmailSender(emails -> {
+            if (emails.get(0).getTo().startsWith("employee1@")) {
+                throw refused;
+            }
+            sink.deliver(emails);
+        }, 10, 1, 1);
+
+        EMAILS.subList(0, 3).forEach(sender::send);
+        sender.close();
+
+        assertThat(sender.failedCount()).isEqualTo(1);
+        assertThat(sender.deliveredCount()).isEqualTo(2);
+        assertThat(sender.lastFailure()).isSameAs(refused);
+        assertThatThrownBy(() -> sender.send(EMAILS.get(3))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
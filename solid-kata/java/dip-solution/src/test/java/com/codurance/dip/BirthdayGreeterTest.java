@@ -2,18 +2,29 @@ package com.codurance.dip;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.MonthDay;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.codurance.dip.EmployeeBuilder.anEmployee;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,4 +59,164 @@ class BirthdayGreeterTest {
         assertThat(sentEmail.getSubject()).isEqualTo("Happy birthday!");
         assertThat(sentEmail.getMessage()).isEqualTo("Happy birthday, dear John!");
     }
+
+    @Test
+    void should_generate_the_greetings_in_the_outbox_before_delivering_them(@TempDir Path directory) throws IOException {
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender);
+        given(clock.monthDay()).willReturn(TODAY);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(Collections.singletonList(anEmployee().build()));
+
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            birthdayGreeter.sendGreetings(outbox);
+
+            assertThat(outbox.sealedDay()).isEqualTo(TODAY);
+            assertThat(outbox.deliveredCount()).isEqualTo(1);
+        }
+        verify(emailSender).send(emailArgumentCaptor.capture());
+        assertThat(emailArgumentCaptor.getValue().getMessage()).isEqualTo("Happy birthday, dear John!");
+    }
+
+    @Test
+    void should_resume_from_a_sealed_outbox_without_looking_up_employees_again(@TempDir Path directory) throws IOException {
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender);
+        Email greeting = Email.builder().to("john.doe@foobar.com").subject("Happy birthday!").message("Happy birthday, dear John!").build();
+
+        given(clock.monthDay()).willReturn(TODAY);
+
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            outbox.append(greeting);
+            outbox.seal(TODAY);
+        }
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            birthdayGreeter.sendGreetings(outbox);
+        }
+
+        verify(employeeRepository, never()).findEmployeesBornOn(TODAY);
+        verify(emailSender).send(greeting);
+    }
+
+    @Test
+    void should_generate_the_greetings_of_each_day_in_the_same_outbox(@TempDir Path directory) throws IOException {
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender);
+        MonthDay tomorrow = MonthDay.of(CURRENT_MONTH, CURRENT_DAY_OF_MONTH + 1);
+        Employee jane = anEmployee().withFirstName("Jane").withEmail("jane.doe@foobar.com").build();
+        given(clock.monthDay()).willReturn(TODAY, tomorrow);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(Collections.singletonList(anEmployee().build()));
+        given(employeeRepository.findEmployeesBornOn(tomorrow)).willReturn(Collections.singletonList(jane));
+
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            birthdayGreeter.sendGreetings(outbox);
+        }
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            birthdayGreeter.sendGreetings(outbox);
+
+            assertThat(outbox.sealedDay()).isEqualTo(tomorrow);
+        }
+
+        verify(emailSender, Mockito.times(2)).send(emailArgumentCaptor.capture());
+        assertThat(emailArgumentCaptor.getAllValues())
+                .extracting(Email::getTo)
+                .containsExactly("john.doe@foobar.com", "jane.doe@foobar.com");
+    }
+
+    @Test
+    void should_send_the_leftovers_of_a_previous_day_before_the_greetings_of_the_day(@TempDir Path directory) throws IOException {
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender);
+        Email yesterdayGreeting = Email.builder().to("jane.doe@foobar.com").subject("Happy birthday!").message("Happy birthday, dear Jane!").build();
+        given(clock.monthDay()).willReturn(TODAY);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(Collections.singletonList(anEmployee().build()));
+
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            outbox.append(yesterdayGreeting);
+            outbox.seal(MonthDay.of(CURRENT_MONTH, CURRENT_DAY_OF_MONTH - 1));
+        }
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            birthdayGreeter.sendGreetings(outbox);
+        }
+
+        verify(emailSender, Mockito.times(2)).send(emailArgumentCaptor.capture());
+        assertThat(emailArgumentCaptor.getAllValues())
+                .extracting(Email::getTo)
+                .containsExactly("jane.doe@foobar.com", "john.doe@foobar.com");
+    }
+
+    @Test
+    void should_send_the_configured_greeting() {
+        Greeting greeting = Greeting.of("Bon anniversaire !", "Bon anniversaire, {firstName} {lastName} !");
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender, greeting);
+        given(clock.monthDay()).willReturn(TODAY);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(Collections.singletonList(anEmployee().build()));
+
+        birthdayGreeter.sendGreetings();
+
+        verify(emailSender).send(new Email("john.doe@foobar.com", "Bon anniversaire !", "Bon anniversaire, John Doe !"));
+    }
+
+    @Test
+    void should_greet_the_employees_born_between_two_days_in_one_run() {
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender);
+        Employee john = anEmployee().build();
+        Employee jane = anEmployee().withFirstName("Jane").withEmail("jane.doe@foobar.com").build();
+        given(employeeRepository.findEmployeesBornBetween(MonthDay.of(7, 6), TODAY)).willReturn(List.of(john, jane));
+
+        birthdayGreeter.sendGreetings(MonthDay.of(7, 6), TODAY);
+
+        verify(emailSender, Mockito.times(2)).send(emailArgumentCaptor.capture());
+        assertThat(emailArgumentCaptor.getAllValues())
+                .extracting(Email::getMessage)
+                .containsExactly("Happy birthday, dear John!", "Happy birthday, dear Jane!");
+    }
+
+    @Test
+    void should_send_the_greetings_in_parallel_within_the_concurrency_limit() {
+        FakeSmtpSink sink = new FakeSmtpSink(2);
+        EmailSender parallelSender = new EmailSender() {
+            @Override
+            public void send(Email email) {
+                if (email.getTo().startsWith("bounce")) {
+                    throw new IllegalStateException("Mailbox unavailable");
+                }
+                sink.deliver(List.of(email));
+            }
+        };
+        List<Employee> employees = IntStream.range(0, 100)
+                .mapToObj(i -> anEmployee().withEmail((i % 10 == 0 ? "bounce" : "employee") + i + "@foobar.com").build())
+                .collect(Collectors.toList());
+        given(clock.monthDay()).willReturn(TODAY);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(employees);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        GreetingRunReport report;
+        try {
+            report = new BirthdayGreeter(employeeRepository, clock, parallelSender).sendGreetings(executor, 4);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(report.getSent()).isEqualTo(90);
+        assertThat(report.getFailed()).isEqualTo(10);
+        assertThat(sink.received()).hasSize(90);
+        assertThat(sink.maxConcurrentDeliveries()).isBetween(2, 4);
+        assertThat(report.getMedianLatency()).isGreaterThanOrEqualTo(Duration.ofMillis(2));
+        assertThat(report.getP99Latency()).isGreaterThanOrEqualTo(report.getMedianLatency());
+        assertThat(report.greetingsPerSecond()).isPositive();
+    }
+
+    @Test
+    void should_greet_each_employee_in_their_language() {
+        Employee marie = anEmployee().withFirstName("Marie").withEmail("marie@foobar.fr").build();
+        Greetings greetings = new Greetings(Greeting.ENGLISH)
+                .register(Locale.FRENCH, Greeting.of("Joyeux anniversaire !", "Joyeux anniversaire, {firstName} !"));
+        BirthdayGreeter birthdayGreeter = new BirthdayGreeter(employeeRepository, clock, emailSender,
+                greetings.byLocale(employee -> employee.getEmail().endsWith(".fr") ? Locale.FRANCE : Locale.UK));
+        given(clock.monthDay()).willReturn(TODAY);
+        given(employeeRepository.findEmployeesBornOn(TODAY)).willReturn(List.of(anEmployee().build(), marie));
+
+        birthdayGreeter.sendGreetings();
+
+        verify(emailSender, Mockito.times(2)).send(emailArgumentCaptor.capture());
+        assertThat(emailArgumentCaptor.getAllValues())
+                .extracting(Email::getMessage)
+                .containsExactly("Happy birthday, dear John!", "Joyeux anniversaire, Marie !");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailOutboxTest {
+    private static final List<Email> EMAILS = IntStream.range(0, 10)
+            .mapToObj(i -> Email.builder()
+                    .to("employee" + i + "@foobar.com")
+                    .subject("Happy birthday!")
+                    .message("Happy birthday, dear Zoë " + i + "!")
+                    .build())
+            .collect(Collectors.toList());
+
+    private static final MonthDay DAY = MonthDay.of(7, 9);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void deliver_the_appended_emails_in_order_once_sealed() throws IOException {
+        RecordingSender sender = new RecordingSender(Integer.MAX_VALUE);
+
+        try (EmailOutbox outbox = new EmailOutbox(directory, 4)) {
+            appendAll(outbox);
+            outbox.seal(DAY);
+
+            assertThat(outbox.deliverPending(sender)).isEqualTo(EMAILS.size());
+            assertThat(outbox.deliverPending(sender)).isZero();
+            assertThat(outbox.hasPending()).isFalse();
+            assertThat(outbox.deliveredCount()).isEqualTo(EMAILS.size());
+        }
+        assertThat(sender.sent).containsExactlyElementsOf(EMAILS);
+    }
+
+    @Test
+    void resume_the_delivery_where_it_stopped_after_a_restart() throws IOException {
+        RecordingSender failingSender = new RecordingSender(3);
+        try (EmailOutbox outbox = new EmailOutbox(directory, 4)) {
+            appendAll(outbox);
+            outbox.seal(DAY);
+
+            assertThatThrownBy(() -> outbox.deliverPending(failingSender)).isInstanceOf(IllegalStateException.class);
+        }
+
+        RecordingSender sender = new RecordingSender(Integer.MAX_VALUE);
+        try (EmailOutbox outbox = new EmailOutbox(directory, 4)) {
+            assertThat(outbox.sealedDay()).isEqualTo(DAY);
+            assertThat(outbox.deliveredCount()).isEqualTo(3);
+            assertThat(outbox.deliverPending(sender)).isEqualTo(EMAILS.size() - 3);
+        }
+        assertThat(failingSender.sent).containsExactlyElementsOf(EMAILS.subList(0, 3));
+        assertThat(sender.sent).containsExactlyElementsOf(EMAILS.subList(3, EMAILS.size()));
+    }
+
+    @Test
+    void drop_a_torn_email_when_reopened() throws IOException {
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            appendAll(outbox);
+        }
+        Files.write(directory.resolve("emails.log"), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        RecordingSender sender = new RecordingSender(Integer.MAX_VALUE);
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            assertThat(outbox.isSealed()).isFalse();
+            outbox.append(EMAILS.get(0));
+            outbox.seal(DAY);
+            outbox.deliverPending(sender);
+        }
+        assertThat(sender.sent).hasSize(EMAILS.size() + 1).endsWith(EMAILS.get(0));
+    }
+
+    @Test
+    void generate_again_once_cleared() throws IOException {
+        RecordingSender sender = new RecordingSender(Integer.MAX_VALUE);
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            appendAll(outbox);
+            outbox.clear();
+            outbox.append(EMAILS.get(1));
+            outbox.seal(DAY);
+            outbox.deliverPending(sender);
+        }
+        assertThat(sender.sent).containsExactly(EMAILS.get(1));
+    }
+
+    @Test
+    void keep_missing_fields() throws IOException {
+        Email withoutSubject = Email.builder().to("john.doe@foobar.com").message("").build();
+        RecordingSender sender = new RecordingSender(Integer.MAX_VALUE);
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            outbox.append(withoutSubject);
+            outbox.seal(DAY);
+            outbox.deliverPending(sender);
+        }
+        assertThat(sender.sent).containsExactly(withoutSubject);
+    }
+
+    @Test
+    void refuse_to_deliver_before_being_sealed_and_to_append_after() throws IOException {
+        try (EmailOutbox outbox = new EmailOutbox(directory)) {
+            assertThatThrownBy(() -> outbox.deliverPending(new RecordingSender(0))).isInstanceOf(IllegalStateException.class);
+            outbox.seal(DAY);
+            assertThatThrownBy(() -> outbox.append(EMAILS.get(0))).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> outbox.seal(DAY)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private static void appendAll(EmailOutbox outbox) throws IOException {
+        for (Email email : EMAILS) {
+            outbox.append(email);
+        }
+    }
+
+    private static class RecordingSender extends EmailSender {
+        private final List<Email> sent = new ArrayList<>();
+        private final int failAfter;
+
+        private RecordingSender(int failAfter) {
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public void send(Email email) {
+            if (sent.size() == failAfter) {
+                throw new IllegalStateException("SMTP server unavailable");
+            }
+            sent.add(email);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codurance.dip;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FakeSmtpSink implements EmailTransport {
+    private final Queue<Email> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger concurrentDeliveries = new AtomicInteger();
+    private final AtomicInteger maxConcurrentDeliveries = new AtomicInteger();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final long latencyMillis;
+
+    public FakeSmtpSink(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void deliver(List<Email> emails) {
+        maxConcurrentDeliveries.accumulateAndGet(concurrentDeliveries.incrementAndGet(), Math::max);
+        maxBatchSize.accumulateAndGet(emails.size(), Math::max);
+        try {
+            Thread.sleep(latencyMillis);
+            received.addAll(emails);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrentDeliveries.decrementAndGet();
+        }
+    }
+
+    public Queue<Email> received() {
+        return received;
+    }
+
+    public int maxConcurrentDeliveries() {
+        return maxConcurrentDeliveries.get();
+    }
+
+    public int maxBatchSize() {
+        return maxBatchSize.get();
+    }
+}
@@ -0,0 +1,62 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlatFileEmployeeRepositoryTest {
+    private static final String ROSTER = "first_name, last_name, date_of_birth, email\r\n"
+            + "John, Doe, 1980-09-10, john.doe@foobar.com\r\n"
+            + "Mary, Ann, 1975-03-11, mary.ann@foobar.com\r\n"
+            + "Leap, Day, 1996-02-29, leap.day@foobar.com\r\n"
+            + "Not, Born, 2023-02-29, not.born@foobar.com\r\n"
+            + "\r\n"
+            + "No, Email, 1980-09-10\r\n"
+            + "Bad, Date, 1980-09-10x, bad.date@foobar.com\r\n"
+            + "Zoë, Müller, 1985-09-10, zoe.muller@foobar.com";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void find_employees_born_on_a_day() throws IOException {
+        EmployeeRepository repository = repositoryIn(Year.of(2022));
+
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(9, 10))).containsExactly(
+                new Employee("John", "Doe", LocalDate.of(1980, 9, 10), "john.doe@foobar.com"),
+                new Employee("Zoë", "Müller", LocalDate.of(1985, 9, 10), "zoe.muller@foobar.com"));
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(3, 11)))
+                .extracting(Employee::getFirstName)
+                .containsExactly("Mary");
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(1, 1))).isEmpty();
+    }
+
+    @Test
+    void find_leap_day_employees_on_february_28_of_common_years() throws IOException {
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornOn(MonthDay.of(2, 28)))
+                .extracting(Employee::getFirstName)
+                .containsExactly("Leap");
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornOn(MonthDay.of(2, 28))).isEmpty();
+    }
+
+    @Test
+    void find_employees_born_between_two_days() throws IOException {
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornBetween(MonthDay.of(2, 1), MonthDay.of(9, 10)))
+                .extracting(Employee::getFirstName)
+                .containsExactly("Leap", "Mary", "John", "Zoë");
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornBetween(MonthDay.of(9, 11), MonthDay.of(2, 28))).isEmpty();
+    }
+
+    private EmployeeRepository repositoryIn(Year year) throws IOException {
+        Path roster = Files.writeString(directory.resolve("employees.csv"), ROSTER);
+        return new FlatFileEmployeeRepository(roster, () -> year);
+    }
+}
@@ -0,0 +1,118 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.codurance.dip.EmployeeBuilder.anEmployee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreetingSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2022, 7, 9);
+    private static final Employee PARIS = bornTodayIn("Paris");
+    private static final Employee LONDON = bornTodayIn("London");
+    private static final Employee REYKJAVIK = bornTodayIn("Reykjavik");
+    private static final Employee LOS_ANGELES = bornTodayIn("LosAngeles");
+    private static final Map<Employee, ZoneId> ZONES = Map.of(
+            PARIS, ZoneId.of("Europe/Paris"),
+            LONDON, ZoneId.of("Europe/London"),
+            REYKJAVIK, ZoneId.of("Atlantic/Reykjavik"),
+            LOS_ANGELES, ZoneId.of("America/Los_Angeles"));
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Test
+    void greet_each_time_zone_partition_at_its_local_morning() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        ZONES.keySet().forEach(repository::add);
+        Queue<Email> sent = new ConcurrentLinkedQueue<>();
+        GreetingScheduler scheduler = GreetingScheduler.builder()
+                .employeeRepository(repository)
+                .zoneOf(ZONES::get)
+                .emailSender(new EmailSender() {
+                    @Override
+                    public void send(Email email) {
+                        sent.add(email);
+                    }
+                })
+                .timer(timer)
+                .workers(workers)
+                .clock(java.time.Clock.fixed(Instant.parse("2022-07-09T08:59:59.900Z"), ZoneOffset.UTC))
+                .build();
+
+        Map<ZoneOffset, CompletableFuture<GreetingRunReport>> partitions = scheduler.scheduleGreetingsOn(TODAY);
+
+        assertThat(List.copyOf(partitions.keySet())).containsExactly(
+                ZoneOffset.ofHours(2), ZoneOffset.ofHours(1), ZoneOffset.UTC, ZoneOffset.ofHours(-7));
+        partitions.get(ZoneOffset.UTC).get(5, TimeUnit.SECONDS);
+        partitions.get(ZoneOffset.ofHours(1)).get(5, TimeUnit.SECONDS);
+        partitions.get(ZoneOffset.ofHours(2)).get(5, TimeUnit.SECONDS);
+        assertThat(partitions.get(ZoneOffset.ofHours(-7))).isNotDone();
+        assertThat(sent).extracting(Email::getTo).containsExactlyInAnyOrder(
+                PARIS.getEmail(), LONDON.getEmail(), REYKJAVIK.getEmail());
+    }
+
+    @Test
+    void apply_the_leap_day_rule_of_the_scheduled_year_and_keep_greeting_after_a_failure() throws Exception {
+        LocalDate february28 = LocalDate.of(2023, 2, 28);
+        Employee leap = anEmployee().withFirstName("Leap").withEmail("leap@foobar.com").withDateOfBirth(LocalDate.of(1996, 2, 29)).build();
+        Employee bounce = anEmployee().withFirstName("Bounce").withEmail("bounce@foobar.com").withDateOfBirth(LocalDate.of(1990, 2, 28)).build();
+        Employee feb = anEmployee().withFirstName("Feb").withEmail("feb@foobar.com").withDateOfBirth(LocalDate.of(1991, 2, 28)).build();
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository(() -> Year.of(2024));
+        repository.add(bounce);
+        repository.add(feb);
+        repository.add(leap);
+        Queue<Email> sent = new ConcurrentLinkedQueue<>();
+        GreetingScheduler scheduler = GreetingScheduler.builder()
+                .employeeRepository(repository)
+                .zoneOf(employee -> ZoneOffset.UTC)
+                .emailSender(new EmailSender() {
+                    @Override
+                    public void send(Email email) {
+                        if (email.getTo().startsWith("bounce")) {
+                            throw new IllegalStateException("Mailbox unavailable");
+                        }
+                        sent.add(email);
+                    }
+                })
+                .timer(timer)
+                .workers(workers)
+                .clock(java.time.Clock.fixed(Instant.parse("2023-02-28T10:00:00Z"), ZoneOffset.UTC))
+                .build();
+
+        GreetingRunReport report = scheduler.scheduleGreetingsOn(february28).get(ZoneOffset.UTC).get(5, TimeUnit.SECONDS);
+
+        assertThat(report.getSent()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(sent).extracting(Email::getTo).containsExactly("feb@foobar.com", "leap@foobar.com");
+    }
+
+    private static Employee bornTodayIn(String city) {
+        return anEmployee()
+                .withFirstName(city)
+                .withEmail(city.toLowerCase() + "@foobar.com")
+                .withDateOfBirth(TODAY.withYear(1980))
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+
+import static com.codurance.dip.EmployeeBuilder.anEmployee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GreetingTemplateTest {
+    private static final Employee JOHN = anEmployee().build();
+
+    @Test
+    void render_the_placeholders_with_the_employee_details() {
+        GreetingTemplate template = GreetingTemplate.parse("{firstName} {lastName} <{email}>: happy birthday, {firstName}!");
+
+        assertThat(template.render(JOHN)).isEqualTo("John Doe <john.doe@foobar.com>: happy birthday, John!");
+    }
+
+    @Test
+    void render_a_template_without_placeholder_as_is() {
+        assertThat(GreetingTemplate.parse("Happy birthday!").render(JOHN)).isEqualTo("Happy birthday!");
+        assertThat(GreetingTemplate.parse("").render(JOHN)).isEmpty();
+    }
+
+    @Test
+    void render_into_a_reused_builder() {
+        GreetingTemplate template = GreetingTemplate.parse("Dear {firstName}");
+        StringBuilder text = new StringBuilder("> ");
+
+        assertThat(template.render(JOHN, text)).hasToString("> Dear John");
+    }
+
+    @Test
+    void reject_unknown_or_unclosed_placeholders() {
+        assertThatThrownBy(() -> GreetingTemplate.parse("Dear {name}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GreetingTemplate.parse("Dear {firstName")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
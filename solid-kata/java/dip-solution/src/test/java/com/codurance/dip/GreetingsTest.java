@@ -0,0 +1,37 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.codurance.dip.EmployeeBuilder.anEmployee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreetingsTest {
+    private static final Employee JOHN = anEmployee().build();
+    private static final Greeting FRENCH = Greeting.of("Joyeux anniversaire !", "Joyeux anniversaire, cher {firstName} !");
+    private static final Greeting SWISS_GERMAN = Greeting.of("Alles Gute!", "Alles Gute zum Geburtstag, {firstName}!");
+
+    private final Greetings greetings = new Greetings(Greeting.ENGLISH)
+            .register(Locale.FRENCH, FRENCH)
+            .register(new Locale("de", "CH"), SWISS_GERMAN);
+
+    @Test
+    void pick_the_greeting_of_the_locale_then_of_its_language_then_the_default_one() {
+        assertThat(greetings.forLocale(new Locale("de", "CH"))).isSameAs(SWISS_GERMAN);
+        assertThat(greetings.forLocale(Locale.CANADA_FRENCH)).isSameAs(FRENCH);
+        assertThat(greetings.forLocale(Locale.GERMANY)).isSameAs(Greeting.ENGLISH);
+    }
+
+    @Test
+    void greet_each_employee_according_to_their_locale() {
+        Employee marie = anEmployee().withFirstName("Marie").withEmail("marie@foobar.fr").build();
+        Function<Employee, Greeting> greetingOf = greetings.byLocale(Map.of(JOHN, Locale.UK, marie, Locale.FRANCE)::get);
+
+        assertThat(greetingOf.apply(marie).emailFor(marie))
+                .isEqualTo(new Email("marie@foobar.fr", "Joyeux anniversaire !", "Joyeux anniversaire, cher Marie !"));
+        assertThat(greetingOf.apply(JOHN).emailFor(JOHN).getMessage()).isEqualTo("Happy birthday, dear John!");
+    }
+}
@@ -0,0 +1,94 @@
+package com.codurance.dip;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+
+import static com.codurance.dip.EmployeeBuilder.anEmployee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryEmployeeRepositoryTest {
+    private static final Employee JOHN = anEmployee().withDateOfBirth(LocalDate.of(1980, 9, 10)).build();
+    private static final Employee JANE = anEmployee().withFirstName("Jane").withDateOfBirth(LocalDate.of(1985, 9, 10)).build();
+    private static final Employee LEAP = anEmployee().withFirstName("Leap").withDateOfBirth(LocalDate.of(1996, 2, 29)).build();
+    private static final Employee FEB = anEmployee().withFirstName("Feb").withDateOfBirth(LocalDate.of(1990, 2, 28)).build();
+
+    @Test
+    void find_employees_born_on_a_day() {
+        InMemoryEmployeeRepository repository = repositoryIn(Year.of(2022));
+
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(9, 10))).containsExactly(JOHN, JANE);
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(9, 11))).isEmpty();
+    }
+
+    @Test
+    void find_no_longer_removed_employees() {
+        InMemoryEmployeeRepository repository = repositoryIn(Year.of(2022));
+
+        assertThat(repository.remove(JOHN)).isTrue();
+
+        assertThat(repository.findEmployeesBornOn(MonthDay.of(9, 10))).containsExactly(JANE);
+    }
+
+    @Test
+    void find_leap_day_employees_on_february_28_of_common_years() {
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornOn(MonthDay.of(2, 28))).containsExactly(FEB, LEAP);
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornOn(MonthDay.of(2, 28))).containsExactly(FEB);
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornOn(MonthDay.of(2, 29))).containsExactly(LEAP);
+    }
+
+    @Test
+    void find_employees_born_between_two_days_across_the_end_of_the_year() {
+        Employee eve = anEmployee().withFirstName("Eve").withDateOfBirth(LocalDate.of(1970, 12, 31)).build();
+        Employee newYear = anEmployee().withFirstName("Newyear").withDateOfBirth(LocalDate.of(1999, 1, 1)).build();
+        InMemoryEmployeeRepository repository = repositoryIn(Year.of(2022));
+        repository.add(newYear);
+        repository.add(eve);
+
+        assertThat(repository.findEmployeesBornBetween(MonthDay.of(9, 1), MonthDay.of(1, 1))).containsExactly(JOHN, JANE, eve, newYear);
+        assertThat(repository.findEmployeesBornBetween(MonthDay.of(9, 10), MonthDay.of(9, 10))).containsExactly(JOHN, JANE);
+        assertThat(repository.findEmployeesBornBetween(MonthDay.of(1, 2), MonthDay.of(2, 27))).isEmpty();
+    }
+
+    @Test
+    void find_leap_day_employees_between_two_days_once_and_with_february_28_in_common_years() {
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornBetween(MonthDay.of(2, 1), MonthDay.of(2, 28))).containsExactly(FEB, LEAP);
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornBetween(MonthDay.of(2, 29), MonthDay.of(3, 1))).isEmpty();
+        assertThat(repositoryIn(Year.of(2022)).findEmployeesBornBetween(MonthDay.of(2, 28), MonthDay.of(3, 1))).containsExactly(FEB, LEAP);
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornBetween(MonthDay.of(2, 1), MonthDay.of(2, 28))).containsExactly(FEB);
+        assertThat(repositoryIn(Year.of(2024)).findEmployeesBornBetween(MonthDay.of(2, 29), MonthDay.of(3, 1))).containsExactly(LEAP);
+    }
+
+    @Test
+    void find_the_same_employees_between_two_days_as_day_by_day_lookups() {
+        InMemoryEmployeeRepository repository = repositoryIn(Year.of(2022));
+        EmployeeRepository dayByDay = repository::findEmployeesBornOn;
+
+        assertThat(dayByDay.findEmployeesBornBetween(MonthDay.of(2, 1), MonthDay.of(9, 30)))
+                .containsExactlyElementsOf(repository.findEmployeesBornBetween(MonthDay.of(2, 1), MonthDay.of(9, 30)));
+    }
+
+    @Test
+    void find_employees_to_greet_on_a_date_with_the_leap_day_rule_of_its_year() {
+        InMemoryEmployeeRepository repository = repositoryIn(Year.of(2024));
+        EmployeeRepository dayByDay = repository::findEmployeesBornOn;
+
+        assertThat(repository.findEmployeesToGreetOn(LocalDate.of(2023, 2, 28))).containsExactly(FEB, LEAP);
+        assertThat(repository.findEmployeesToGreetOn(LocalDate.of(2028, 2, 28))).containsExactly(FEB);
+        assertThat(repositoryIn(Year.of(2023)).findEmployeesToGreetOn(LocalDate.of(2028, 2, 28))).containsExactly(FEB);
+        assertThat(dayByDay.findEmployeesToGreetOn(LocalDate.of(2023, 2, 28))).containsExactly(FEB, LEAP);
+        assertThat(dayByDay.findEmployeesToGreetOn(LocalDate.of(2028, 2, 28))).containsExactly(FEB);
+        assertThat(dayByDay.findEmployeesToGreetOn(LocalDate.of(2028, 2, 29))).containsExactly(LEAP);
+    }
+
+    private static InMemoryEmployeeRepository repositoryIn(Year year) {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository(() -> year);
+        repository.add(JOHN);
+        repository.add(LEAP);
+        repository.add(JANE);
+        repository.add(FEB);
+        return repository;
+    }
+}
\ No newline at end of file
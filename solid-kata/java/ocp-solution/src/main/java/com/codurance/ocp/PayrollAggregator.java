@@ -0,0 +1,56 @@
+package com.codurance.ocp;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Summarizes a {@link PayrollEngine} on a fork/join pool: the employees are split in halves until a slice is small
+ * enough to be summed in one loop, the partial summaries are merged on the way back. Totals are exact {@code long}
+ * sums, the split only changes the order of the additions. The payroll must not be added to during an aggregation.
+ */
+public class PayrollAggregator {
+    private static final int DEFAULT_SLICE_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int sliceSize;
+
+    public PayrollAggregator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SLICE_SIZE);
+    }
+
+    public PayrollAggregator(ForkJoinPool pool, int sliceSize) {
+        if (sliceSize < 1) {
+            throw new IllegalArgumentException("Slice size must be positive");
+        }
+        this.pool = pool;
+        this.sliceSize = sliceSize;
+    }
+
+    public PayrollSummary aggregate(PayrollEngine payroll) {
+        return pool.invoke(new SummarizeTask(payroll, 0, payroll.size()));
+    }
+
+    private class SummarizeTask extends RecursiveTask<PayrollSummary> {
+        private final PayrollEngine payroll;
+        private final int from;
+        private final int to;
+
+        private SummarizeTask(PayrollEngine payroll, int from, int to) {
+            this.payroll = payroll;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PayrollSummary compute() {
+            if (to - from <= sliceSize) {
+                return payroll.summarize(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SummarizeTask firstHalf = new SummarizeTask(payroll, from, middle);
+            firstHalf.fork();
+            PayrollSummary secondHalf = new SummarizeTask(payroll, middle, to).compute();
+            return firstHalf.join().merge(secondHalf);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.codurance.ocp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Payroll of many employees kept as primitive columns: salary, what {@link Employee#payAmount()} adds on top of it,
+ * type and department. Pay amounts are computed as {@code salary + onTop} in loops without branches nor virtual calls
+ * that the JIT can unroll and vectorize, and are summed as {@code long} so totals never overflow.
+ * <p>
+ * The amount on top of the salary is asked to each employee when it is added, so any kind of {@link Employee} fits
+ * without changing the engine. It is computed as an {@code int} difference, which stays exact when
+ * {@code payAmount()} overflows as long as the amount on top itself fits an {@code int}. Types are numbered in the
+ * order their first employee is added, up to {@value #MAX_TYPES} of them.
+ */
+public class PayrollEngine {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_DEPARTMENTS = 1 << 16;
+    private static final int MAX_TYPES = Byte.MAX_VALUE + 1;
+
+    private final List<Class<? extends Employee>> types = new ArrayList<>();
+    private int[] salaries;
+    private int[] onTop;
+    private byte[] typeIndexes;
+    private int[] departments;
+    private int size;
+    private int departmentCount;
+
+    public PayrollEngine() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PayrollEngine(int initialCapacity) {
+        this.salaries = new int[initialCapacity];
+        this.onTop = new int[initialCapacity];
+        this.typeIndexes = new byte[initialCapacity];
+        this.departments = new int[initialCapacity];
+    }
+
+    public void add(Employee employee) {
+        add(employee, 0);
+    }
+
+    /**
+     * Adds an employee of a department numbered from 0. Department numbers must be dense, up to
+     * {@value #MAX_DEPARTMENTS} departments: summaries hold a total for every number up to the highest one.
+     */
+    public void add(Employee employee, int department) {
+        if (department < 0 || department >= MAX_DEPARTMENTS) {
+            throw new IllegalArgumentException("Department must be between 0 and " + (MAX_DEPARTMENTS - 1) + ": " + department);
+        }
+        if (size == salaries.length) {
+            grow();
+        }
+        salaries[size] = employee.salary;
+        onTop[size] = employee.payAmount() - employee.salary;
+        typeIndexes[size] = typeIndexOf(employee.getClass());
+        departments[size] = department;
+        departmentCount = Math.max(departmentCount, department + 1);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int departmentCount() {
+        return departmentCount;
+    }
+
+    public long payAmountOf(int index) {
+        Objects.checkIndex(index, size);
+        return (long) salaries[index] + onTop[index];
+    }
+
+    /**
+     * Writes the pay amount of each employee, in the order they were added, to the first {@link #size()} entries.
+     */
+    public void payAmounts(long[] payAmounts) {
+        Objects.checkFromIndexSize(0, size, payAmounts.length);
+        for (int i = 0; i < size; i++) {
+            payAmounts[i] = (long) salaries[i] + onTop[i];
+        }
+    }
+
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += (long) salaries[i] + onTop[i];
+        }
+        return total;
+    }
+
+    /**
+     * Totals of the employees from {@code from} included to {@code to} excluded.
+     */
+    PayrollSummary summarize(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        long[] departmentTotals = new long[departmentCount];
+        long[] typeTotals = new long[types.size()];
+        for (int i = from; i < to; i++) {
+            long payAmount = (long) salaries[i] + onTop[i];
+            departmentTotals[departments[i]] += payAmount;
+            typeTotals[typeIndexes[i]] += payAmount;
+        }
+        return new PayrollSummary(List.copyOf(types), typeTotals, departmentTotals);
+    }
+
+    private byte typeIndexOf(Class<? extends Employee> type) {
+        int index = types.indexOf(type);
+        if (index < 0) {
+            if (types.size() == MAX_TYPES) {
+                throw new IllegalStateException("Payroll cannot hold more than " + MAX_TYPES + " employee types");
+            }
+            index = types.size();
+            types.add(type);
+        }
+        return (byte) index;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+        salaries = Arrays.copyOf(salaries, capacity);
+        onTop = Arrays.copyOf(onTop, capacity);
+        typeIndexes = Arrays.copyOf(typeIndexes, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+    }
+}
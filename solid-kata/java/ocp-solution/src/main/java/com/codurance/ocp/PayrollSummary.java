@@ -0,0 +1,56 @@
+package com.codurance.ocp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exact totals of a payroll run, overall, per type of employee and per department.
+ */
+public final class PayrollSummary {
+    private final List<Class<? extends Employee>> types;
+    private final long[] typeTotals;
+    private final long[] departmentTotals;
+
+    PayrollSummary(List<Class<? extends Employee>> types, long[] typeTotals, long[] departmentTotals) {
+        this.types = types;
+        this.typeTotals = typeTotals;
+        this.departmentTotals = departmentTotals;
+    }
+
+    public long total() {
+        long total = 0;
+        for (long typeTotal : typeTotals) {
+            total += typeTotal;
+        }
+        return total;
+    }
+
+    public long totalOf(Class<? extends Employee> type) {
+        int index = types.indexOf(type);
+        return index < 0 ? 0 : typeTotals[index];
+    }
+
+    public int departmentCount() {
+        return departmentTotals.length;
+    }
+
+    public long departmentTotal(int department) {
+        return department < departmentTotals.length ? departmentTotals[department] : 0;
+    }
+
+    // Types are numbered in the same order in every summary of a payroll, the longest list includes the others
+    PayrollSummary merge(PayrollSummary other) {
+        List<Class<? extends Employee>> mergedTypes = types.size() >= other.types.size() ? types : other.types;
+        return new PayrollSummary(mergedTypes,
+                sum(typeTotals, other.typeTotals),
+                sum(departmentTotals, other.departmentTotals));
+    }
+
+    private static long[] sum(long[] totals, long[] otherTotals) {
+        long[] sum = Arrays.copyOf(totals, Math.max(totals.length, otherTotals.length));
+        for (int i = 0; i < otherTotals.length; i++) {
+            sum[i] += otherTotals[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package com.codurance.ocp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayrollAggregatorTest {
+    private static final int DEPARTMENTS = 5;
+
+    @Test
+    void break_the_total_down_by_employee_type_and_department() {
+        PayrollEngine payroll = new PayrollEngine();
+        payroll.add(new Engineer(1000, 100), 0);
+        payroll.add(new Manager(2000, 200), 2);
+        payroll.add(new Engineer(3000, 300), 2);
+
+        PayrollSummary summary = new PayrollAggregator().aggregate(payroll);
+
+        assertThat(summary.total()).isEqualTo(6200);
+        assertThat(summary.totalOf(Engineer.class)).isEqualTo(4000);
+        assertThat(summary.totalOf(Manager.class)).isEqualTo(2200);
+        assertThat(summary.totalOf(Employee.class)).isZero();
+        assertThat(summary.departmentCount()).isEqualTo(3);
+        assertThat(summary.departmentTotal(0)).isEqualTo(1000);
+        assertThat(summary.departmentTotal(1)).isZero();
+        assertThat(summary.departmentTotal(2)).isEqualTo(5200);
+        assertThat(summary.departmentTotal(3)).isZero();
+    }
+
+    @Test
+    void merge_the_slices_into_the_sequential_totals() {
+        PayrollEngine payroll = new PayrollEngine();
+        long[] departmentTotals = new long[DEPARTMENTS];
+        long managersTotal = 0;
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            Employee employee = i % 9 == 0
+                    ? new Manager(Integer.MAX_VALUE - i, Integer.MAX_VALUE - i)
+                    : new Engineer(Integer.MAX_VALUE - i, i);
+            payroll.add(employee, i % DEPARTMENTS);
+            departmentTotals[i % DEPARTMENTS] += (long) employee.salary + (i % 9 == 0 ? employee.bonus : 0);
+            managersTotal += i % 9 == 0 ? (long) employee.salary + employee.bonus : 0;
+            total += (long) employee.salary + (i % 9 == 0 ? employee.bonus : 0);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        PayrollSummary summary;
+        try {
+            summary = new PayrollAggregator(pool, 1000).aggregate(payroll);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(summary.total()).isEqualTo(total).isGreaterThan(Integer.MAX_VALUE);
+        assertThat(summary.totalOf(Manager.class)).isEqualTo(managersTotal);
+        assertThat(summary.totalOf(Engineer.class)).isEqualTo(total - managersTotal);
+        for (int department = 0; department < DEPARTMENTS; department++) {
+            assertThat(summary.departmentTotal(department)).isEqualTo(departmentTotals[department]);
+        }
+    }
+
+    @Test
+    void summarize_an_empty_payroll() {
+        PayrollSummary summary = new PayrollAggregator().aggregate(new PayrollEngine());
+
+        assertThat(summary.total()).isZero();
+        assertThat(summary.departmentCount()).isZero();
+    }
+
+    @Test
+    void reject_sparse_department_numbers() {
+        PayrollEngine payroll = new PayrollEngine();
+
+        assertThatThrownBy(() -> payroll.add(new Engineer(1000, 100), 1_000_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> payroll.add(new Engineer(1000, 100), -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.codurance.ocp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayrollBenchmark {
+    @Param({"1000000"})
+    private int employees;
+
+    private List<Payable> payables;
+    private PayrollEngine payroll;
+    private PayrollAggregator aggregator;
+    private long[] payAmounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        payables = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            int salary = 20_000 + random.nextInt(100_000);
+            int bonus = random.nextInt(20_000);
+            payables.add(random.nextInt(10) == 0 ? new Manager(salary, bonus) : new Engineer(salary, bonus));
+        }
+        Collections.shuffle(payables, random);
+        payroll = new PayrollEngine(employees);
+        for (int i = 0; i < employees; i++) {
+            payroll.add((Employee) payables.get(i), random.nextInt(50));
+        }
+        aggregator = new PayrollAggregator();
+        payAmounts = new long[employees];
+    }
+
+    @Benchmark
+    public long totalOfPayables() {
+        long total = 0;
+        for (Payable payable : payables) {
+            total += payable.payAmount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalOfColumns() {
+        return payroll.total();
+    }
+
+    @Benchmark
+    public long[] payAmountsOfColumns() {
+        payroll.payAmounts(payAmounts);
+        return payAmounts;
+    }
+
+    @Benchmark
+    public PayrollSummary summaryOfColumns() {
+        return payroll.summarize(0, payroll.size());
+    }
+
+    @Benchmark
+    public PayrollSummary summaryOfColumnsInParallel() {
+        return aggregator.aggregate(payroll);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayrollBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.codurance.ocp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollEngineTest {
+    private static final int BONUS = 100;
+    private static final int SALARY = 1000;
+
+    @Test
+    void pay_the_bonus_to_managers_only() {
+        PayrollEngine payroll = new PayrollEngine();
+        payroll.add(new Engineer(SALARY, BONUS));
+        payroll.add(new Manager(SALARY, BONUS));
+
+        assertThat(payroll.payAmountOf(0)).isEqualTo(SALARY);
+        assertThat(payroll.payAmountOf(1)).isEqualTo(SALARY + BONUS);
+        assertThat(payroll.total()).isEqualTo(2 * SALARY + BONUS);
+    }
+
+    @Test
+    void match_the_pay_amount_of_each_employee() {
+        PayrollEngine payroll = new PayrollEngine(4);
+        Employee[] employees = new Employee[10_000];
+        for (int i = 0; i < employees.length; i++) {
+            employees[i] = i % 7 == 0 ? new Manager(SALARY + i, BONUS * i) : new Engineer(SALARY + i, BONUS * i);
+            payroll.add(employees[i]);
+        }
+
+        long[] payAmounts = new long[payroll.size()];
+        payroll.payAmounts(payAmounts);
+
+        long total = 0;
+        for (int i = 0; i < employees.length; i++) {
+            assertThat(payAmounts[i]).isEqualTo(employees[i].payAmount());
+            total += employees[i].payAmount();
+        }
+        assertThat(payroll.total()).isEqualTo(total);
+    }
+
+    @Test
+    void not_overflow_large_totals() {
+        PayrollEngine payroll = new PayrollEngine();
+        payroll.add(new Manager(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        payroll.add(new Engineer(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        assertThat(payroll.payAmountOf(0)).isEqualTo(2L * Integer.MAX_VALUE);
+        assertThat(payroll.total()).isEqualTo(3L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    void pay_any_kind_of_employee_through_its_own_pay_amount() {
+        Employee intern = new Employee(SALARY, BONUS) {
+            @Override
+            public int payAmount() {
+                return salary / 2;
+            }
+        };
+        PayrollEngine payroll = new PayrollEngine();
+        payroll.add(intern);
+        payroll.add(new Manager(SALARY, BONUS));
+
+        assertThat(payroll.payAmountOf(0)).isEqualTo(SALARY / 2);
+        assertThat(payroll.total()).isEqualTo(SALARY / 2 + SALARY + BONUS);
+    }
+}
\ No newline at end of file
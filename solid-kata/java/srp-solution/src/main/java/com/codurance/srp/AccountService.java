@@ -1,27 +1,122 @@
 package com.codurance.srp;
 
-import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
-@AllArgsConstructor
 public class AccountService {
 
     private final TransactionRepository transactionRepository;
     private final StatementPrinter statementPrinter;
     private final Clock clock;
+    private final BalanceIndex balanceIndex;
+    private int compacted;
+    private long compactedBalance;
+
+    public AccountService(TransactionRepository transactionRepository, StatementPrinter statementPrinter, Clock clock) {
+        this.transactionRepository = transactionRepository;
+        this.statementPrinter = statementPrinter;
+        this.clock = clock;
+        this.balanceIndex = BalanceIndex.of(transactionRepository.all());
+    }
 
     public void deposit(int amount) {
-        transactionRepository.add(transactionWith(amount));
+        record(transactionWith(amount));
     }
 
     public void withdraw(int amount) {
-        transactionRepository.add(transactionWith(-amount));
+        record(transactionWith(-amount));
     }
 
     public void printStatement() {
-        statementPrinter.print(transactionRepository.all());
+        List<Transaction> transactions = transactionRepository.all();
+        statementPrinter.print(transactions, balanceBefore(compacted, transactions));
+    }
+
+    /**
+     * Statement of the transactions dated from {@code from} to {@code to} included, balances carried from before.
+     */
+    public void printStatement(LocalDate from, LocalDate to) {
+        List<Transaction> transactions = transactionRepository.all();
+        if (from.isAfter(to)) {
+            statementPrinter.print(List.of(), balanceIndex.balanceOn(from.minusDays(1)));
+        } else if (balanceIndex.isChronological()) {
+            int start = Math.max(compacted, balanceIndex.countBefore(from));
+            int end = Math.max(start, balanceIndex.countUntil(to));
+            statementPrinter.print(transactions.subList(start - compacted, end - compacted), balanceBefore(start, transactions));
+        } else {
+            printBackdatedStatement(from, to, transactions);
+        }
+    }
+
+    /**
+     * Statement split in pages of {@code pageSize} lines, newest first: page 1 holds the most recent transactions.
+     */
+    public void printStatementPage(int page, int pageSize) {
+        if (page < 1 || pageSize < 1) {
+            throw new IllegalArgumentException("Page and page size must be positive");
+        }
+        List<Transaction> transactions = transactionRepository.all();
+        int end = (int) Math.max(0, transactions.size() - (long) (page - 1) * pageSize);
+        int start = Math.max(0, end - pageSize);
+        statementPrinter.print(transactions.subList(start, end), balanceBefore(compacted + start, transactions));
+    }
+
+    /**
+     * Drops the detail of the transactions dated before {@code date} when the repository allows it, balances and
+     * statements stay exact thanks to the end of day balances of the index.
+     */
+    public void compactBefore(LocalDate date) {
+        if (!balanceIndex.isChronological()) {
+            throw new IllegalStateException("Backdated transactions prevent compacting the history");
+        }
+        int count = balanceIndex.countBefore(date) - compacted;
+        if (count > 0 && transactionRepository.discardOldest(count)) {
+            compacted += count;
+            compactedBalance = balanceIndex.balanceOn(date.minusDays(1));
+        }
+    }
+
+    public long balance() {
+        return balanceIndex.balance();
+    }
+
+    public long balanceOn(LocalDate date) {
+        return balanceIndex.balanceOn(date);
+    }
+
+    // Positions count the compacted transactions, the repository only returns the ones after them
+    private long balanceBefore(int position, List<Transaction> transactions) {
+        if (balanceIndex.isChronological()) {
+            return balanceIndex.balanceBefore(position, transactions, compacted);
+        }
+        long balance = compactedBalance;
+        for (Transaction transaction : transactions.subList(0, position - compacted)) {
+            balance += transaction.getAmount();
+        }
+        return balance;
+    }
+
+    // Compacted transactions of the range cannot be listed anymore, like the ones before it they open the balance
+    private void printBackdatedStatement(LocalDate from, LocalDate to, List<Transaction> transactions) {
+        long openingBalance = compactedBalance;
+        List<Transaction> inRange = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getDate().isBefore(from)) {
+                openingBalance += transaction.getAmount();
+            } else if (!transaction.getDate().isAfter(to)) {
+                inRange.add(transaction);
+            }
+        }
+        statementPrinter.print(inRange, openingBalance);
+    }
+
+    private void record(Transaction transaction) {
+        transactionRepository.add(transaction);
+        balanceIndex.add(transaction);
     }
 
     private Transaction transactionWith(int amount) {
         return new Transaction(clock.today(), amount);
     }
-}
\ No newline at end of file
+}
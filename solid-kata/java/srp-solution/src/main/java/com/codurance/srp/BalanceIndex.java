@@ -0,0 +1,160 @@
+package com.codurance.srp;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running balance of an account plus, for each day with transactions, its closing balance and the number of
+ * transactions recorded up to the end of that day (a prefix sum over the days, sorted by date). These end of day
+ * snapshots grow with the number of days and not with the number of transactions, they keep balances exact once
+ * the detail of old transactions is compacted away.
+ * <p>
+ * Transactions normally arrive in date order and only touch the last day. A backdated transaction is inserted at its
+ * date and shifts the following days, it costs O(days) and the index stops being {@link #isChronological()}.
+ */
+public class BalanceIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] epochDays = new int[DEFAULT_CAPACITY];
+    private long[] closingBalances = new long[DEFAULT_CAPACITY];
+    private int[] transactionCounts = new int[DEFAULT_CAPACITY];
+    private int days;
+    private long balance;
+    private int transactionCount;
+    private boolean chronological = true;
+
+    public static BalanceIndex of(List<Transaction> transactions) {
+        BalanceIndex index = new BalanceIndex();
+        for (Transaction transaction : transactions) {
+            index.add(transaction);
+        }
+        return index;
+    }
+
+    public void add(Transaction transaction) {
+        int epochDay = Math.toIntExact(transaction.getDate().toEpochDay());
+        int amount = transaction.getAmount();
+        balance += amount;
+        transactionCount++;
+
+        if (days > 0 && epochDay == epochDays[days - 1]) {
+            closingBalances[days - 1] = balance;
+            transactionCounts[days - 1] = transactionCount;
+        } else if (days == 0 || epochDay > epochDays[days - 1]) {
+            insertDay(days, epochDay, balance, transactionCount);
+        } else {
+            addBackdated(epochDay, amount);
+        }
+    }
+
+    public long balance() {
+        return balance;
+    }
+
+    public int transactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Balance at the end of {@code date}, 0 before the first transaction.
+     */
+    public long balanceOn(LocalDate date) {
+        int day = lastDayOnOrBefore(date);
+        return day < 0 ? 0 : closingBalances[day];
+    }
+
+    /**
+     * Number of transactions dated strictly before {@code date}, i.e. the position of its first transaction.
+     */
+    public int countBefore(LocalDate date) {
+        return countUntil(date.minusDays(1));
+    }
+
+    /**
+     * Number of transactions dated on or before {@code date}.
+     */
+    public int countUntil(LocalDate date) {
+        int day = lastDayOnOrBefore(date);
+        return day < 0 ? 0 : transactionCounts[day];
+    }
+
+    /**
+     * Balance before the transaction at {@code position}: the closing balance of the previous day plus the
+     * transactions of its own day preceding it. Positions only match the index while it is chronological.
+     * {@code transactions} may start at {@code firstPosition} as long as it is the first transaction of a day.
+     */
+    public long balanceBefore(int position, List<Transaction> transactions, int firstPosition) {
+        int day = firstDayEndingAfter(position);
+        long balanceBefore = day == 0 ? 0 : closingBalances[day - 1];
+        for (int i = day == 0 ? 0 : transactionCounts[day - 1]; i < position; i++) {
+            balanceBefore += transactions.get(i - firstPosition).getAmount();
+        }
+        return balanceBefore;
+    }
+
+    public boolean isChronological() {
+        return chronological;
+    }
+
+    private void addBackdated(int epochDay, int amount) {
+        chronological = false;
+        int day = Arrays.binarySearch(epochDays, 0, days, epochDay);
+        if (day < 0) {
+            day = -day - 1;
+            insertDay(day,
+                    epochDay,
+                    day == 0 ? 0 : closingBalances[day - 1],
+                    day == 0 ? 0 : transactionCounts[day - 1]);
+        }
+        for (; day < days; day++) {
+            closingBalances[day] += amount;
+            transactionCounts[day]++;
+        }
+    }
+
+    private void insertDay(int day, int epochDay, long closingBalance, int transactionCount) {
+        if (days == epochDays.length) {
+            int capacity = days + (days >> 1);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            closingBalances = Arrays.copyOf(closingBalances, capacity);
+            transactionCounts = Arrays.copyOf(transactionCounts, capacity);
+        }
+        System.arraycopy(epochDays, day, epochDays, day + 1, days - day);
+        System.arraycopy(closingBalances, day, closingBalances, day + 1, days - day);
+        System.arraycopy(transactionCounts, day, transactionCounts, day + 1, days - day);
+        epochDays[day] = epochDay;
+        closingBalances[day] = closingBalance;
+        transactionCounts[day] = transactionCount;
+        days++;
+    }
+
+    private int firstDayEndingAfter(int position) {
+        int low = 0;
+        int high = days - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (transactionCounts[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int lastDayOnOrBefore(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int low = 0;
+        int high = days - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (epochDays[middle] <= epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+}
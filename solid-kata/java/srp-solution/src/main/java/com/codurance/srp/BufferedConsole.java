@@ -0,0 +1,134 @@
+package com.codurance.srp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Console collecting lines in one reusable buffer and writing it to a stream or a channel only when it is full or
+ * flushed, instead of one synchronized write per line. Lines are UTF-8 encoded, ASCII ones byte by byte.
+ */
+public class BufferedConsole extends Console implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+
+    public BufferedConsole(OutputStream stream) {
+        this(stream, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BufferedConsole(WritableByteChannel channel) {
+        this(null, channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BufferedConsole(OutputStream stream, int bufferSize) {
+        this(stream, null, bufferSize);
+    }
+
+    public BufferedConsole(WritableByteChannel channel, int bufferSize) {
+        this(null, channel, bufferSize);
+    }
+
+    private BufferedConsole(OutputStream stream, WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < 4) {
+            throw new IllegalArgumentException("Buffer must hold at least one encoded character");
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.stream = stream;
+        this.channel = channel;
+    }
+
+    @Override
+    public void printLine(String line) {
+        append(line);
+        append(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void printLine(CharSequence line) {
+        append(line);
+        append(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        if (stream != null) {
+            try {
+                stream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (stream != null) {
+            stream.close();
+        } else {
+            channel.close();
+        }
+    }
+
+    private void append(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                encode(text, i);
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    private void encode(CharSequence text, int from) {
+        CharBuffer chars = CharBuffer.wrap(text, from, text.length());
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            }
+        } while (result.isOverflow());
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            if (stream != null) {
+                stream.write(buffer.array(), 0, buffer.limit());
+            } else {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.codurance.srp;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Keeps transactions as two growable {@code int} columns, 8 bytes per transaction instead of a {@link Transaction}
+ * and its {@link LocalDate}. Dates are stored as epoch days, which covers years up to about 5.8 million.
+ * <p>
+ * {@link #all()} is a lazy view of the transactions added so far, each {@link Transaction} is created on access.
+ */
+public class ColumnarTransactionRepository implements TransactionRepository {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] epochDays;
+    private int[] amounts;
+    private int size;
+
+    public ColumnarTransactionRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarTransactionRepository(int initialCapacity) {
+        this.epochDays = new int[initialCapacity];
+        this.amounts = new int[initialCapacity];
+    }
+
+    @Override
+    public void add(Transaction transaction) {
+        int epochDay = Math.toIntExact(transaction.getDate().toEpochDay());
+        if (size == amounts.length) {
+            grow();
+        }
+        epochDays[size] = epochDay;
+        amounts[size] = transaction.getAmount();
+        size++;
+    }
+
+    @Override
+    public List<Transaction> all() {
+        return new TransactionsView(epochDays, amounts, size);
+    }
+
+    /**
+     * Moves the remaining transactions to right-sized columns, the views created before keep the former ones.
+     */
+    @Override
+    public boolean discardOldest(int count) {
+        Objects.checkFromIndexSize(0, count, size);
+        epochDays = Arrays.copyOfRange(epochDays, count, size);
+        amounts = Arrays.copyOfRange(amounts, count, size);
+        size -= count;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDayAt(int index) {
+        return epochDays[Objects.checkIndex(index, size)];
+    }
+
+    public int amountAt(int index) {
+        return amounts[Objects.checkIndex(index, size)];
+    }
+
+    private void grow() {
+        if (size == MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot hold more than " + MAX_CAPACITY + " transactions");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, size + (long) (size >> 1)));
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+    }
+
+    // Columns are append only and replaced when they grow or are compacted,
+    // a view keeps seeing the transactions that existed when it was created
+    private static class TransactionsView extends AbstractList<Transaction> implements RandomAccess {
+        private final int[] epochDays;
+        private final int[] amounts;
+        private final int size;
+
+        private TransactionsView(int[] epochDays, int[] amounts, int size) {
+            this.epochDays = epochDays;
+            this.amounts = amounts;
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            Objects.checkIndex(index, size);
+            return new Transaction(LocalDate.ofEpochDay(epochDays[index]), amounts[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -4,4 +4,16 @@ public class Console {
     public void printLine(String line) {
         System.out.println(line);
     }
+
+    /**
+     * Prints a line rendered into a reusable buffer, which may change once this returns. Consoles able to write it
+     * without a copy override this.
+     */
+    public void printLine(CharSequence line) {
+        printLine(line.toString());
+    }
+
+    public void flush() {
+        System.out.flush();
+    }
 }
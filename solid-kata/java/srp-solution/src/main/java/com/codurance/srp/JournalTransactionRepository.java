@@ -0,0 +1,177 @@
+package com.codurance.srp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only journal of fixed 16 bytes records (epoch day, amount, CRC32C) written through a memory-mapped file.
+ * <p>
+ * Records reach the page cache as soon as they are added, so they survive a crash of the process. They are forced
+ * to the disk once every {@code groupCommitSize} additions, on {@link #flush()} and on {@link #close()}: a power
+ * loss can lose at most the last uncommitted group.
+ * <p>
+ * The file is never truncated, a mapped file cannot be on every platform. It keeps the size of its mapping and a
+ * 16 bytes header holds the number of records. When the journal is opened, the counted records are read until the
+ * first one whose checksum does not match and the count is set back there, dropping a record torn by a crash.
+ * Anything past the count is overwritten by the next records.
+ * <p>
+ * A single mapping is limited to 2 GB, which is about 134 million transactions. The journal and the lists returned
+ * by {@link #all()} throw an {@link IllegalStateException} once the journal is closed.
+ */
+public class JournalTransactionRepository implements TransactionRepository, Closeable {
+    private static final int RECORD_SIZE = 16;
+    private static final int HEADER_SIZE = RECORD_SIZE;
+    private static final int COUNT = 0;
+    private static final int CHECKSUMMED_SIZE = 12;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 4096;
+    private static final int INITIAL_MAPPING_SIZE = 1 << 20;
+    private static final int MAX_MAPPING_SIZE = Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final int groupCommitSize;
+    private final CRC32C checksum = new CRC32C();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private MappedByteBuffer records;
+    private int size;
+    private int committed;
+
+    public JournalTransactionRepository(Path journal) throws IOException {
+        this(journal, DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    public JournalTransactionRepository(Path journal, int groupCommitSize) throws IOException {
+        if (groupCommitSize < 1) {
+            throw new IllegalArgumentException("Group commit size must be positive");
+        }
+        this.groupCommitSize = groupCommitSize;
+        this.channel = FileChannel.open(journal, CREATE, READ, WRITE);
+        long mapped = Math.max(INITIAL_MAPPING_SIZE, Math.min(channel.size(), MAX_MAPPING_SIZE));
+        this.records = map(mapped / RECORD_SIZE * RECORD_SIZE);
+        this.size = recover();
+        this.committed = size;
+    }
+
+    @Override
+    public void add(Transaction transaction) {
+        if (!channel.isOpen()) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int offset = offsetOf(size);
+        if (offset == records.capacity()) {
+            grow();
+        }
+        records.put(offset, encode(transaction.getDate().toEpochDay(), transaction.getAmount()), 0, RECORD_SIZE);
+        records.putInt(COUNT, ++size);
+
+        if (size - committed >= groupCommitSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public List<Transaction> all() {
+        return new TransactionsView(size);
+    }
+
+    public void flush() {
+        if (committed < size) {
+            records.force(offsetOf(committed), (size - committed) * RECORD_SIZE);
+            records.force(COUNT, HEADER_SIZE);
+            committed = size;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    // The count reaches the disk with the records, a power loss can leave it ahead of them but never behind
+    private int recover() {
+        int counted = Math.min(records.getInt(COUNT), (records.capacity() - HEADER_SIZE) / RECORD_SIZE);
+        int valid = 0;
+        byte[] stored = new byte[RECORD_SIZE];
+        while (valid < counted) {
+            records.get(offsetOf(valid), stored);
+            if (!isIntact(stored)) {
+                break;
+            }
+            valid++;
+        }
+        records.putInt(COUNT, valid);
+        return valid;
+    }
+
+    private static int offsetOf(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private MappedByteBuffer map(long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void grow() {
+        if (records.capacity() == MAX_MAPPING_SIZE) {
+            throw new IllegalStateException("Journal cannot hold more than " + (MAX_MAPPING_SIZE - HEADER_SIZE) / RECORD_SIZE + " transactions");
+        }
+        records = map(Math.min(MAX_MAPPING_SIZE, 2L * records.capacity()));
+    }
+
+    private byte[] encode(long epochDay, int amount) {
+        byte[] bytes = record.array();
+        record.putLong(0, epochDay).putInt(8, amount).putInt(CHECKSUMMED_SIZE, checksumOf(bytes));
+        return bytes;
+    }
+
+    private boolean isIntact(byte[] stored) {
+        return ByteBuffer.wrap(stored).getInt(CHECKSUMMED_SIZE) == checksumOf(stored);
+    }
+
+    private int checksumOf(byte[] bytes) {
+        checksum.reset();
+        checksum.update(bytes, 0, CHECKSUMMED_SIZE);
+        return (int) checksum.getValue();
+    }
+
+    private class TransactionsView extends AbstractList<Transaction> implements RandomAccess {
+        private final int size;
+
+        private TransactionsView(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (!channel.isOpen()) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            int offset = offsetOf(Objects.checkIndex(index, size));
+            return new Transaction(LocalDate.ofEpochDay(records.getLong(offset)), records.getInt(offset + 8));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.codurance.srp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Many accounts behind the {@link AccountService} contract, safe to use from many threads.
+ * <p>
+ * Accounts are spread over lock-striped shards: operations on accounts of different shards never contend, so
+ * throughput grows with the number of cores. Statements are printed one at a time, so their lines never interleave
+ * on the shared console, from a copy taken under the lock of the shard: a slow console delays the other statements,
+ * not the operations on the accounts.
+ */
+public class Ledger {
+    private final Shard[] shards;
+    private final Supplier<TransactionRepository> repositories;
+    private final StatementPrinter statementPrinter;
+    private final Clock clock;
+    private final Object printing = new Object();
+
+    public Ledger(Supplier<TransactionRepository> repositories, StatementPrinter statementPrinter, Clock clock) {
+        this(repositories, statementPrinter, clock, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public Ledger(Supplier<TransactionRepository> repositories, StatementPrinter statementPrinter, Clock clock, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("A ledger needs at least one shard");
+        }
+        int powerOfTwo = 1;
+        while (powerOfTwo < shards) {
+            powerOfTwo <<= 1;
+        }
+        this.shards = new Shard[powerOfTwo];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.repositories = repositories;
+        this.statementPrinter = statementPrinter;
+        this.clock = clock;
+    }
+
+    public void deposit(long accountId, int amount) {
+        Shard shard = shardOf(accountId);
+        synchronized (shard) {
+            shard.account(accountId).service.deposit(amount);
+        }
+    }
+
+    public void withdraw(long accountId, int amount) {
+        Shard shard = shardOf(accountId);
+        synchronized (shard) {
+            shard.account(accountId).service.withdraw(amount);
+        }
+    }
+
+    public void printStatement(long accountId) {
+        List<Transaction> transactions = transactionsOf(accountId);
+        synchronized (printing) {
+            statementPrinter.print(transactions);
+        }
+    }
+
+    public long balance(long accountId) {
+        Shard shard = shardOf(accountId);
+        synchronized (shard) {
+            Account account = shard.accounts.get(accountId);
+            return account == null ? 0 : account.service.balance();
+        }
+    }
+
+    /**
+     * Copy of the account history, unaffected by the transactions recorded afterwards.
+     */
+    public List<Transaction> transactionsOf(long accountId) {
+        Shard shard = shardOf(accountId);
+        synchronized (shard) {
+            Account account = shard.accounts.get(accountId);
+            return account == null ? List.of() : List.copyOf(account.repository.all());
+        }
+    }
+
+    private Shard shardOf(long accountId) {
+        long hash = accountId * 0x9E3779B97F4A7C15L;
+        return shards[(int) (hash >>> 32) & (shards.length - 1)];
+    }
+
+    private class Shard {
+        private final Map<Long, Account> accounts = new HashMap<>();
+
+        private Account account(long accountId) {
+            return accounts.computeIfAbsent(accountId, id -> new Account(repositories.get()));
+        }
+    }
+
+    private class Account {
+        private final TransactionRepository repository;
+        private final AccountService service;
+
+        private Account(TransactionRepository repository) {
+            this.repository = repository;
+            this.service = new AccountService(repository, statementPrinter, clock);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.codurance.srp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+
+/**
+ * Exports the statements of many accounts of a {@link Ledger}, each one rendered in its own buffer by the executor.
+ * <p>
+ * At most {@code maxInFlight} statements are rendered or waiting to be written at any time: the next account is only
+ * submitted once the oldest one is written, so memory stays bounded whatever the number of accounts and the output
+ * keeps the order of the given account ids. Any executor fits, a virtual thread per task one included.
+ */
+public class StatementExporter {
+    private static final int RENDER_BUFFER_SIZE = 8192;
+
+    private final Ledger ledger;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    public StatementExporter(Ledger ledger, Executor executor, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one statement must be in flight");
+        }
+        this.ledger = ledger;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Writes every statement in one file, each one preceded by an {@code ACCOUNT <id>} line.
+     */
+    public void exportToFile(Iterable<Long> accountIds, Path file) throws IOException {
+        try (OutputStream output = Files.newOutputStream(file)) {
+            export(accountIds, accountId -> render(accountId, "ACCOUNT " + accountId), output::write);
+        }
+    }
+
+    /**
+     * Writes the statement of each account in {@code <id>.txt} in the given directory.
+     */
+    public void exportToFiles(Iterable<Long> accountIds, Path directory) throws IOException {
+        export(accountIds, accountId -> {
+            write(render(accountId, null), directory.resolve(accountId + ".txt"));
+            return null;
+        }, written -> {
+        });
+    }
+
+    private void export(Iterable<Long> accountIds, LongFunction<byte[]> renderer, StatementWriter writer) throws IOException {
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(maxInFlight);
+        try {
+            for (long accountId : accountIds) {
+                if (inFlight.size() == maxInFlight) {
+                    writer.write(inFlight.removeFirst().join());
+                }
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> renderer.apply(accountId), executor));
+            }
+            while (!inFlight.isEmpty()) {
+                writer.write(inFlight.removeFirst().join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private byte[] render(long accountId, String title) {
+        ByteArrayOutputStream statement = new ByteArrayOutputStream();
+        BufferedConsole console = new BufferedConsole(statement, RENDER_BUFFER_SIZE);
+        if (title != null) {
+            console.printLine(title);
+        }
+        new StatementPrinter(console).print(ledger.transactionsOf(accountId));
+        return statement.toByteArray();
+    }
+
+    private static void write(byte[] statement, Path file) {
+        try {
+            Files.write(file, statement);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementWriter {
+        void write(byte[] statement) throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+package com.codurance.srp;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders {@code dd/MM/yyyy | amount | balance} lines into a caller-owned builder.
+ * It holds no mutable state, a single instance can be shared between threads.
+ */
+public class StatementLineRenderer {
+    private static final String SEPARATOR = " | ";
+    private static final String DECIMALS = ".00";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    public StringBuilder render(Transaction transaction, long balance, StringBuilder to) {
+        appendDate(transaction.getDate(), to).append(SEPARATOR);
+        appendAmount(transaction.getAmount(), to).append(SEPARATOR);
+        return appendAmount(balance, to);
+    }
+
+    private static StringBuilder appendDate(LocalDate date, StringBuilder to) {
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            return to.append(DATE_FORMATTER.format(date));
+        }
+        appendPadded(date.getDayOfMonth(), 2, to).append('/');
+        appendPadded(date.getMonthValue(), 2, to).append('/');
+        return appendPadded(year, 4, to);
+    }
+
+    private static StringBuilder appendPadded(int value, int width, StringBuilder to) {
+        for (int limit = 10; width > 1; limit *= 10, width--) {
+            if (value < limit) {
+                to.append('0');
+            }
+        }
+        return to.append(value);
+    }
+
+    // Same output as new DecimalFormat("#.00") on whole amounts: no integer digit for 0
+    private static StringBuilder appendAmount(long amount, StringBuilder to) {
+        if (amount != 0) {
+            to.append(amount);
+        }
+        return to.append(DECIMALS);
+    }
+}
@@ -1,61 +1,62 @@
 package com.codurance.srp;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.MessageFormat;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import static java.util.stream.Collectors.toCollection;
+import java.util.ListIterator;
 
 public class StatementPrinter {
     private static final String STATEMENT_HEADER = "DATE | AMOUNT | BALANCE";
-    private static final String DATE_FORMAT = "dd/MM/yyyy";
-    private static final String AMOUNT_FORMAT = "#.00";
+    private static final int LINE_CAPACITY = 64;
 
+    private final StatementLineRenderer lineRenderer = new StatementLineRenderer();
     private final Console console;
 
     public StatementPrinter(Console console) {
         this.console = console;
     }
 
-    private String statementLine(Transaction transaction, int balance) {
-        return MessageFormat.format("{0} | {1} | {2}",
-                formatDate(transaction.getDate()),
-                formatNumber(transaction.getAmount()),
-                formatNumber(balance));
-    }
-
-    private String formatDate(LocalDate date) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(DATE_FORMAT);
-        return dateFormatter.format(date);
-    }
-
-    private String formatNumber(int amount) {
-        DecimalFormat decimalFormat = new DecimalFormat(AMOUNT_FORMAT, DecimalFormatSymbols.getInstance(Locale.UK));
-        return decimalFormat.format(amount);
+    private CharSequence statementLine(Transaction transaction, long balance, StringBuilder line) {
+        line.setLength(0);
+        return lineRenderer.render(transaction, balance, line);
     }
 
     private void printHeader() {
         printLine(STATEMENT_HEADER);
     }
 
-    private void printLine(String line) {
+    private void printLine(CharSequence line) {
         console.printLine(line);
     }
 
+    /**
+     * Prints newest first without keeping formatted lines around: the closing balance is computed in a forward pass,
+     * then each previous balance is obtained by removing the amount of the line just printed.
+     */
     public void print(List<Transaction> transactions) {
+        print(transactions, 0);
+    }
+
+    /**
+     * Prints an excerpt of a longer history, {@code openingBalance} being the balance before its first transaction.
+     */
+    public void print(List<Transaction> transactions, long openingBalance) {
         printHeader();
 
-        final AtomicInteger balance = new AtomicInteger(0);
-        transactions.stream()
-                .map(transaction -> statementLine(transaction, balance.addAndGet(transaction.getAmount())))
-                .collect(toCollection(LinkedList::new))
-                .descendingIterator()
-                .forEachRemaining(this::printLine);
+        long balance = openingBalance + closingBalance(transactions);
+        final StringBuilder line = new StringBuilder(LINE_CAPACITY);
+        final ListIterator<Transaction> newestFirst = transactions.listIterator(transactions.size());
+        while (newestFirst.hasPrevious()) {
+            Transaction transaction = newestFirst.previous();
+            printLine(statementLine(transaction, balance, line));
+            balance -= transaction.getAmount();
+        }
+        console.flush();
+    }
+
+    private static long closingBalance(List<Transaction> transactions) {
+        long balance = 0;
+        for (Transaction transaction : transactions) {
+            balance += transaction.getAmount();
+        }
+        return balance;
     }
 }
\ No newline at end of file
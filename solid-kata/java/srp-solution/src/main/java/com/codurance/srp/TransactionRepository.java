@@ -5,4 +5,13 @@ import java.util.List;
 public interface TransactionRepository {
     void add(Transaction transaction);
     List<Transaction> all();
+
+    /**
+     * Drops the {@code count} oldest transactions, or none of them when the repository keeps its whole history.
+     *
+     * @return whether they have been dropped
+     */
+    default boolean discardOldest(int count) {
+        return false;
+    }
 }
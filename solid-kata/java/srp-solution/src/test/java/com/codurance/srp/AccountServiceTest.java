@@ -11,9 +11,12 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +44,8 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Lines come in a reused builder, they are verified as the strings they were when printed
+        lenient().doCallRealMethod().when(console).printLine(any(CharSequence.class));
         StatementPrinter statementPrinter = new StatementPrinter(console);
         accountService = new AccountService(transactionRepository, statementPrinter, clock);
     }
@@ -75,4 +80,162 @@ class AccountServiceTest {
         inOrder.verify(console).printLine("02/04/2014 | -100.00 | 900.00");
         inOrder.verify(console).printLine("01/04/2014 | 1000.00 | 1000.00");
     }
+
+    @Test
+    void keep_the_balance_as_of_each_date() {
+        given(clock.today()).willReturn(
+                LocalDate.of(2014, 4, 1),
+                LocalDate.of(2014, 4, 2),
+                LocalDate.of(2014, 4, 10),
+                LocalDate.of(2014, 4, 10));
+
+        accountService.deposit(1000);
+        accountService.withdraw(100);
+        accountService.deposit(500);
+        accountService.withdraw(50);
+
+        assertThat(accountService.balance()).isEqualTo(1350);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 3, 31))).isZero();
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 1))).isEqualTo(1000);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 9))).isEqualTo(900);
+        assertThat(accountService.balanceOn(TODAY)).isEqualTo(1350);
+    }
+
+    @Test
+    void index_the_existing_and_backdated_transactions() {
+        given(transactionRepository.all()).willReturn(TRANSACTIONS);
+        given(clock.today()).willReturn(LocalDate.of(2014, 4, 5), LocalDate.of(2014, 4, 1));
+        accountService = new AccountService(transactionRepository, new StatementPrinter(console), clock);
+
+        accountService.deposit(20);
+        accountService.withdraw(1);
+
+        assertThat(accountService.balance()).isEqualTo(1419);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 1))).isEqualTo(999);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 4))).isEqualTo(899);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 5))).isEqualTo(919);
+        assertThat(accountService.balanceOn(TODAY)).isEqualTo(1419);
+    }
+
+    @Test
+    void print_statement_of_a_date_range() {
+        given(transactionRepository.all()).willReturn(TRANSACTIONS);
+        accountService = new AccountService(transactionRepository, new StatementPrinter(console), clock);
+
+        accountService.printStatement(LocalDate.of(2014, 4, 2), LocalDate.of(2014, 4, 9));
+
+        InOrder inOrder = inOrder(console);
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("02/04/2014 | -100.00 | 900.00");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void print_statement_page_by_page_newest_first() {
+        given(transactionRepository.all()).willReturn(TRANSACTIONS);
+        accountService = new AccountService(transactionRepository, new StatementPrinter(console), clock);
+
+        accountService.printStatementPage(1, 2);
+        accountService.printStatementPage(2, 2);
+        accountService.printStatementPage(3, 2);
+
+        InOrder inOrder = inOrder(console);
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("10/04/2014 | 500.00 | 1400.00");
+        inOrder.verify(console).printLine("02/04/2014 | -100.00 | 900.00");
+        inOrder.verify(console).flush();
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("01/04/2014 | 1000.00 | 1000.00");
+        inOrder.verify(console).flush();
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void carry_the_balance_into_a_page_starting_within_a_day() {
+        given(clock.today()).willReturn(LocalDate.of(2014, 4, 1));
+        accountService.deposit(1000);
+        accountService.withdraw(100);
+        accountService.deposit(500);
+        List<Transaction> recorded = List.of(
+                new Transaction(LocalDate.of(2014, 4, 1), 1000),
+                new Transaction(LocalDate.of(2014, 4, 1), -100),
+                new Transaction(LocalDate.of(2014, 4, 1), 500));
+        given(transactionRepository.all()).willReturn(recorded);
+
+        accountService.printStatementPage(1, 1);
+
+        InOrder inOrder = inOrder(console);
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("01/04/2014 | 500.00 | 1400.00");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void keep_statements_exact_after_compacting_old_transactions() {
+        given(clock.today()).willReturn(
+                LocalDate.of(2014, 4, 1),
+                LocalDate.of(2014, 4, 2),
+                LocalDate.of(2014, 4, 10),
+                LocalDate.of(2014, 4, 10));
+        ColumnarTransactionRepository repository = new ColumnarTransactionRepository();
+        accountService = new AccountService(repository, new StatementPrinter(console), clock);
+        accountService.deposit(1000);
+        accountService.withdraw(100);
+        accountService.deposit(500);
+        accountService.withdraw(50);
+
+        accountService.compactBefore(LocalDate.of(2014, 4, 5));
+        accountService.printStatement();
+        accountService.printStatement(LocalDate.of(2014, 4, 1), LocalDate.of(2014, 4, 30));
+        accountService.printStatementPage(1, 1);
+
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 2))).isEqualTo(900);
+        InOrder inOrder = inOrder(console);
+        for (int statement = 0; statement < 2; statement++) {
+            inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+            inOrder.verify(console).printLine("10/04/2014 | -50.00 | 1350.00");
+            inOrder.verify(console).printLine("10/04/2014 | 500.00 | 1400.00");
+            inOrder.verify(console).flush();
+        }
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("10/04/2014 | -50.00 | 1350.00");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void open_a_backdated_statement_with_the_compacted_balance() {
+        given(clock.today()).willReturn(
+                LocalDate.of(2014, 4, 1),
+                LocalDate.of(2014, 4, 2),
+                LocalDate.of(2014, 4, 10),
+                LocalDate.of(2014, 4, 3));
+        ColumnarTransactionRepository repository = new ColumnarTransactionRepository();
+        accountService = new AccountService(repository, new StatementPrinter(console), clock);
+        accountService.deposit(1000);
+        accountService.withdraw(100);
+        accountService.deposit(500);
+        accountService.compactBefore(LocalDate.of(2014, 4, 5));
+        accountService.deposit(20);
+
+        accountService.printStatement(LocalDate.of(2014, 4, 1), LocalDate.of(2014, 4, 30));
+        accountService.printStatement(LocalDate.of(2014, 4, 4), LocalDate.of(2014, 4, 30));
+
+        assertThat(accountService.balance()).isEqualTo(1420);
+        assertThat(accountService.balanceOn(LocalDate.of(2014, 4, 30))).isEqualTo(1420);
+        InOrder inOrder = inOrder(console);
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("03/04/2014 | 20.00 | 1420.00");
+        inOrder.verify(console).printLine("10/04/2014 | 500.00 | 1400.00");
+        inOrder.verify(console).flush();
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("10/04/2014 | 500.00 | 1420.00");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferedConsoleTest {
+    private static final String NEW_LINE = System.lineSeparator();
+
+    @Test
+    void write_lines_only_when_flushed_or_full() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BufferedConsole console = new BufferedConsole(output, 64);
+
+        console.printLine("DATE | AMOUNT | BALANCE");
+        assertThat(output.size()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            console.printLine("06/09/2017 | 100.00 | 100.00");
+        }
+        assertThat(output.size()).isPositive();
+
+        console.flush();
+        assertThat(output.toString(UTF_8))
+                .startsWith("DATE | AMOUNT | BALANCE" + NEW_LINE)
+                .endsWith("06/09/2017 | 100.00 | 100.00" + NEW_LINE)
+                .hasLineCount(11);
+    }
+
+    @Test
+    void encode_non_ascii_lines_across_buffer_boundaries() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        String line = "Relevé de compte · 1 000,00 € 🏦";
+
+        try (BufferedConsole console = new BufferedConsole(Channels.newChannel(output), 7)) {
+            console.printLine(line);
+            console.printLine(line);
+        }
+
+        assertThat(output.toString(UTF_8)).isEqualTo(line + NEW_LINE + line + NEW_LINE);
+    }
+
+    @Test
+    void copy_lines_of_a_reused_builder_when_printed() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BufferedConsole console = new BufferedConsole(output, 8);
+        StringBuilder line = new StringBuilder();
+
+        console.printLine(line.append("01/04/2014 | 1000.00 | 1000.00"));
+        line.setLength(0);
+        console.printLine(line.append("Solde · 1 000,00 €"));
+        line.setLength(0);
+        console.flush();
+
+        assertThat(output.toString(UTF_8))
+                .isEqualTo("01/04/2014 | 1000.00 | 1000.00" + NEW_LINE + "Solde · 1 000,00 €" + NEW_LINE);
+    }
+}
@@ -0,0 +1,57 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTransactionRepositoryTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2014, 4, 1);
+
+    private final ColumnarTransactionRepository repository = new ColumnarTransactionRepository(1);
+
+    @Test
+    void return_every_added_transaction_in_order() {
+        List<Transaction> added = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Transaction transaction = new Transaction(FIRST_DAY.plusDays(i / 3), i % 2 == 0 ? i : -i);
+            repository.add(transaction);
+            added.add(transaction);
+        }
+
+        assertThat(repository.all())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(added);
+        assertThat(repository.epochDayAt(999)).isEqualTo(FIRST_DAY.plusDays(333).toEpochDay());
+        assertThat(repository.amountAt(999)).isEqualTo(-999);
+    }
+
+    @Test
+    void keep_previous_views_unchanged_by_later_transactions() {
+        repository.add(new Transaction(FIRST_DAY, 1000));
+        List<Transaction> firstView = repository.all();
+
+        repository.add(new Transaction(FIRST_DAY, -100));
+
+        assertThat(firstView).hasSize(1);
+        assertThat(repository.all()).hasSize(2);
+        assertThatThrownBy(() -> firstView.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void discard_the_oldest_transactions() {
+        repository.add(new Transaction(FIRST_DAY, 1000));
+        repository.add(new Transaction(FIRST_DAY, -100));
+        repository.add(new Transaction(FIRST_DAY.plusDays(9), 500));
+        List<Transaction> beforeCompaction = repository.all();
+
+        assertThat(repository.discardOldest(2)).isTrue();
+
+        assertThat(repository.all()).extracting(Transaction::getAmount).containsExactly(500);
+        assertThat(beforeCompaction).extracting(Transaction::getAmount).containsExactly(1000, -100, 500);
+    }
+}
\ No newline at end of file
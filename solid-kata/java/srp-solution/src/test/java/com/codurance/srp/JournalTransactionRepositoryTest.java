@@ -0,0 +1,88 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalTransactionRepositoryTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2014, 4, 1);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void keep_transactions_across_restarts() throws IOException {
+        Path journal = directory.resolve("account.journal");
+        List<Transaction> added = new ArrayList<>();
+
+        for (int restart = 0; restart < 3; restart++) {
+            try (JournalTransactionRepository repository = new JournalTransactionRepository(journal, 1_000)) {
+                assertThat(repository.all())
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .containsExactlyElementsOf(added);
+
+                for (int i = 0; i < 50_000; i++) {
+                    Transaction transaction = new Transaction(FIRST_DAY.plusDays(added.size() / 10), i % 7 == 0 ? -i : i);
+                    repository.add(transaction);
+                    added.add(transaction);
+                }
+            }
+        }
+        try (JournalTransactionRepository repository = new JournalTransactionRepository(journal)) {
+            assertThat(repository.all()).hasSize(150_000);
+        }
+    }
+
+    @Test
+    void drop_torn_records_on_recovery() throws IOException {
+        Path journal = directory.resolve("account.journal");
+        try (JournalTransactionRepository repository = new JournalTransactionRepository(journal)) {
+            repository.add(new Transaction(FIRST_DAY, 1000));
+            repository.add(new Transaction(FIRST_DAY.plusDays(1), -100));
+            repository.add(new Transaction(FIRST_DAY.plusDays(2), 300));
+        }
+        // A count ahead of a torn third record, as a power loss can leave it
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 4), 0);
+            channel.write(ByteBuffer.allocate(16)
+                    .putLong(0, FIRST_DAY.plusDays(2).toEpochDay())
+                    .putInt(8, 700)
+                    .putInt(12, 0xBAD), 3 * 16);
+        }
+
+        try (JournalTransactionRepository repository = new JournalTransactionRepository(journal)) {
+            assertThat(repository.all()).hasSize(2);
+            repository.add(new Transaction(FIRST_DAY.plusDays(9), 500));
+        }
+
+        try (JournalTransactionRepository repository = new JournalTransactionRepository(journal)) {
+            assertThat(repository.all())
+                    .extracting(Transaction::getAmount)
+                    .containsExactly(1000, -100, 500);
+        }
+    }
+
+    @Test
+    void refuse_to_use_the_journal_once_closed() throws IOException {
+        JournalTransactionRepository repository = new JournalTransactionRepository(directory.resolve("account.journal"));
+        repository.add(new Transaction(FIRST_DAY, 1000));
+        List<Transaction> transactions = repository.all();
+        repository.close();
+
+        assertThatThrownBy(() -> transactions.get(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repository.add(new Transaction(FIRST_DAY, 500)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Journal is closed");
+    }
+}
\ No newline at end of file
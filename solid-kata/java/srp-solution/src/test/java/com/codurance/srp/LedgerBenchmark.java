@@ -0,0 +1,64 @@
+package com.codurance.srp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Run it from the IDE, Throughput gives operations per second and SampleTime the p99 latency of an operation.
+// Re-run with a different thread count (-t) to see how the ledger scales with the cores.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class LedgerBenchmark {
+    private static final int ACCOUNTS = 1_000_000;
+
+    // Transactions are not kept, the benchmark measures the ledger and not the heap growth
+    private final Ledger ledger = new Ledger(DiscardingRepository::new, new StatementPrinter(new Console()), new Clock());
+
+    @Benchmark
+    public void depositOrWithdraw() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long account = random.nextInt(ACCOUNTS);
+        if (random.nextBoolean()) {
+            ledger.deposit(account, 100);
+        } else {
+            ledger.withdraw(account, 100);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LedgerBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+    private static class DiscardingRepository implements TransactionRepository {
+        @Override
+        public void add(Transaction transaction) {
+        }
+
+        @Override
+        public List<Transaction> all() {
+            return List.of();
+        }
+    }
+}
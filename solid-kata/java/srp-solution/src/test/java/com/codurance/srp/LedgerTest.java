@@ -0,0 +1,121 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerTest {
+    private static final LocalDate TODAY = LocalDate.of(2017, 9, 6);
+    private static final int ACCOUNTS = 1_000;
+    private static final int THREADS = 8;
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private Console console;
+
+    @BeforeEach
+    void printLinesAsStrings() {
+        lenient().doCallRealMethod().when(console).printLine(any(CharSequence.class));
+    }
+
+    @Test
+    void keep_accounts_consistent_under_concurrent_operations() throws Exception {
+        given(clock.today()).willReturn(TODAY);
+        Ledger ledger = new Ledger(ColumnarTransactionRepository::new, new StatementPrinter(console), clock, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> operations = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            operations.add(executor.submit(() -> {
+                for (long account = 0; account < ACCOUNTS; account++) {
+                    ledger.deposit(account, 100);
+                    ledger.withdraw(account, 40);
+                }
+            }));
+        }
+        for (Future<?> operation : operations) {
+            operation.get();
+        }
+        executor.shutdown();
+
+        for (long account = 0; account < ACCOUNTS; account++) {
+            assertThat(ledger.balance(account)).isEqualTo(THREADS * 60L);
+            assertThat(ledger.transactionsOf(account)).hasSize(2 * THREADS);
+        }
+    }
+
+    @Test
+    void print_the_statement_of_one_account() {
+        given(clock.today()).willReturn(TODAY);
+        Ledger ledger = new Ledger(ColumnarTransactionRepository::new, new StatementPrinter(console), clock);
+
+        ledger.deposit(1, 1000);
+        ledger.deposit(2, 500);
+        ledger.withdraw(1, 100);
+        ledger.printStatement(1);
+
+        InOrder inOrder = inOrder(console);
+        inOrder.verify(console).printLine("DATE | AMOUNT | BALANCE");
+        inOrder.verify(console).printLine("06/09/2017 | -100.00 | 900.00");
+        inOrder.verify(console).printLine("06/09/2017 | 1000.00 | 1000.00");
+        inOrder.verify(console).flush();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void print_whole_statements_from_many_threads() throws Exception {
+        given(clock.today()).willReturn(TODAY);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ledger ledger = new Ledger(ColumnarTransactionRepository::new, new StatementPrinter(new BufferedConsole(output, 256)), clock);
+        for (long account = 0; account < THREADS; account++) {
+            for (int i = 0; i < 50; i++) {
+                ledger.deposit(account, (int) account + 1);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> statements = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            long account = thread;
+            statements.add(executor.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    ledger.printStatement(account);
+                }
+            }));
+        }
+        for (Future<?> statement : statements) {
+            statement.get();
+        }
+        executor.shutdown();
+
+        List<String> lines = output.toString(UTF_8).lines().collect(toList());
+        assertThat(lines).hasSize(THREADS * 20 * 51);
+        for (int statement = 0; statement < lines.size(); statement += 51) {
+            assertThat(lines.get(statement)).isEqualTo("DATE | AMOUNT | BALANCE");
+            String amount = lines.get(statement + 1).split(" \\| ")[1];
+            assertThat(lines.subList(statement + 1, statement + 51)).allMatch(line -> line.contains(" | " + amount + " | "));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class StatementExporterTest {
+    private static final String NEW_LINE = System.lineSeparator();
+    private static final List<Long> ACCOUNTS = LongStream.range(0, 50).boxed().collect(Collectors.toList());
+
+    @Mock
+    private Clock clock;
+
+    @TempDir
+    private Path directory;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private Ledger ledger;
+    private StatementExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        given(clock.today()).willReturn(LocalDate.of(2017, 9, 6));
+        ledger = new Ledger(ColumnarTransactionRepository::new, new StatementPrinter(new Console()), clock);
+        for (long account : ACCOUNTS) {
+            ledger.deposit(account, (int) account * 100);
+            ledger.withdraw(account, 1);
+        }
+        exporter = new StatementExporter(ledger, executor, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void export_every_statement_in_one_file_in_account_order() throws IOException {
+        Path export = directory.resolve("statements.txt");
+
+        exporter.exportToFile(ACCOUNTS, export);
+
+        assertThat(Files.readString(export)).isEqualTo(ACCOUNTS.stream()
+                .map(account -> "ACCOUNT " + account + NEW_LINE + statementOf(account))
+                .collect(Collectors.joining()));
+    }
+
+    @Test
+    void export_each_statement_in_its_own_file() throws IOException {
+        exporter.exportToFiles(ACCOUNTS, directory);
+
+        for (long account : ACCOUNTS) {
+            assertThat(Files.readString(directory.resolve(account + ".txt"))).isEqualTo(statementOf(account));
+        }
+    }
+
+    private static String statementOf(long account) {
+        return "DATE | AMOUNT | BALANCE" + NEW_LINE
+                + "06/09/2017 | -1.00 | " + (account * 100 - 1 == 0 ? "" : account * 100 - 1) + ".00" + NEW_LINE
+                + "06/09/2017 | " + (account == 0 ? "" : account * 100) + ".00 | " + (account == 0 ? "" : account * 100) + ".00" + NEW_LINE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.codurance.srp;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementLineRendererTest {
+    private static final LocalDate[] DATES = {
+            LocalDate.of(2014, 4, 10),
+            LocalDate.of(2014, 12, 31),
+            LocalDate.of(987, 1, 5),
+            LocalDate.of(1, 1, 1),
+            LocalDate.of(10000, 6, 15),
+            LocalDate.of(-5, 2, 28)
+    };
+    private static final long[] AMOUNTS = {500, -100, 0, 7, -7, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE};
+
+    private final StatementLineRenderer renderer = new StatementLineRenderer();
+
+    @Test
+    void render_lines_like_the_statement_formats() {
+        StringBuilder line = new StringBuilder();
+
+        for (LocalDate date : DATES) {
+            for (long amount : AMOUNTS) {
+                line.setLength(0);
+                Transaction transaction = new Transaction(date, (int) amount);
+
+                renderer.render(transaction, amount, line);
+
+                assertThat(line).hasToString(MessageFormat.format("{0} | {1} | {2}",
+                        DateTimeFormatter.ofPattern("dd/MM/yyyy").format(date),
+                        formatNumber(transaction.getAmount()),
+                        formatNumber(amount)));
+            }
+        }
+    }
+
+    private static String formatNumber(long amount) {
+        return new DecimalFormat("#.00", DecimalFormatSymbols.getInstance(Locale.UK)).format(amount);
+    }
+}
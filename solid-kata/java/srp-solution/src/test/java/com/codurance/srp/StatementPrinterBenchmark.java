@@ -0,0 +1,115 @@
+package com.codurance.srp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toCollection;
+
+// Run it from the IDE, the gc profiler reports the allocation per statement line or per statement (gc.alloc.rate.norm)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementPrinterBenchmark {
+    private final Transaction transaction = new Transaction(LocalDate.of(2014, 4, 10), 500);
+    private final StatementLineRenderer renderer = new StatementLineRenderer();
+    private final StringBuilder line = new StringBuilder(64);
+    private final BufferedConsole console = new BufferedConsole(OutputStream.nullOutputStream());
+    private final StatementPrinter printer = new StatementPrinter(console);
+    private final BaselineStatementPrinter baselinePrinter = new BaselineStatementPrinter(console);
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    @Setup
+    public void recordTransactions() {
+        LocalDate day = LocalDate.of(2014, 1, 1);
+        for (int i = 0; i < 100; i++) {
+            transactions.add(new Transaction(day.plusDays(i), i % 3 == 0 ? -120 : 500));
+        }
+    }
+
+    @Benchmark
+    public String formatLineWithNewFormatters() {
+        return MessageFormat.format("{0} | {1} | {2}",
+                DateTimeFormatter.ofPattern("dd/MM/yyyy").format(transaction.getDate()),
+                new DecimalFormat("#.00", DecimalFormatSymbols.getInstance(Locale.UK)).format(transaction.getAmount()),
+                new DecimalFormat("#.00", DecimalFormatSymbols.getInstance(Locale.UK)).format(1400));
+    }
+
+    @Benchmark
+    public StringBuilder renderLineIntoReusedBuilder() {
+        line.setLength(0);
+        return renderer.render(transaction, 1400, line);
+    }
+
+    @Benchmark
+    public void printStatementWithBaselinePrinter() {
+        baselinePrinter.print(transactions);
+        console.flush();
+    }
+
+    @Benchmark
+    public void printStatement() {
+        printer.print(transactions);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StatementPrinterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+    // The previous printer, kept as the baseline
+    private static final class BaselineStatementPrinter {
+        private final Console console;
+
+        BaselineStatementPrinter(Console console) {
+            this.console = console;
+        }
+
+        void print(List<Transaction> transactions) {
+            console.printLine("DATE | AMOUNT | BALANCE");
+            AtomicInteger balance = new AtomicInteger(0);
+            transactions.stream()
+                    .map(transaction -> statementLine(transaction, balance.addAndGet(transaction.getAmount())))
+                    .collect(toCollection(LinkedList::new))
+                    .descendingIterator()
+                    .forEachRemaining(console::printLine);
+        }
+
+        private static String statementLine(Transaction transaction, int balance) {
+            return MessageFormat.format("{0} | {1} | {2}",
+                    DateTimeFormatter.ofPattern("dd/MM/yyyy").format(transaction.getDate()),
+                    new DecimalFormat("#.00", DecimalFormatSymbols.getInstance(Locale.UK)).format(transaction.getAmount()),
+                    new DecimalFormat("#.00", DecimalFormatSymbols.getInstance(Locale.UK)).format(balance));
+        }
+    }
+}
\ No newline at end of file